@@ -0,0 +1,93 @@
+import benchmark.JsonHelperModes;
+import benchmark.JsonLibrary;
+
+import java.util.List;
+
+public class JsonHelperLibrary implements JsonLibrary, JsonHelperModes {
+    private final JsonParser parser = new JsonParser();
+    private JsonShape shape;
+    private final JsonWriter writer = new JsonWriter();
+    private final StringBuilder buffer = new StringBuilder();
+
+    @Override
+    public Object parse(String input) {
+        return JsonObject.create(input);
+    }
+
+    @Override
+    public Object parseReused(String input) {
+        return parser.parse(input);
+    }
+
+    @Override
+    public void expectShape(String sample) {
+        shape = JsonShape.of(JsonObject.create(sample));
+    }
+
+    @Override
+    public Object parseShaped(String input) {
+        return shape.parse(input);
+    }
+
+    @Override
+    public Object parseUtf8(byte[] input) {
+        return JsonObject.create(input);
+    }
+
+    @Override
+    public String serialize(Object tree) {
+        return tree.toString();
+    }
+
+    @Override
+    public CharSequence serializeToBuffer(Object tree) {
+        buffer.setLength(0);
+        writer.appendTo((JsonObject) tree, buffer);
+        return buffer;
+    }
+
+    @Override
+    public Object bind(String input, Class<?> type) {
+        return JsonObject.create(input, type);
+    }
+
+    @Override
+    public String serializeBound(Object value) {
+        return JsonObject.stringify(value);
+    }
+
+    @Override
+    public double readScalars(Object tree) {
+        return walk((JsonObject) tree);
+    }
+
+    private static double walk(JsonObject node) {
+        switch (node.getJsonType()) {
+            case Null:
+                return 0;
+            case Boolean:
+                return node.getBool() ? 1 : 0;
+            case Number:
+                return node.getLong() + node.getDouble();
+            case String:
+                return node.getString().length();
+            case Array: {
+                double sum = 0;
+                List<JsonObject> list = node.getList();
+                for (int i = 0; i < list.size(); ++i) {
+                    sum += walk(node.get(i));
+                }
+                return sum;
+            }
+            case Object: {
+                double sum = 0;
+                for (String key : node.getObject().keySet()) {
+                    sum += walk(node.get(key));
+                }
+                return sum;
+            }
+            default:
+                throw new IllegalStateException();
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+// Binding JSON text to the classes in Bound and serializing them back
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class BindBenchmark {
+    @Param({"jsonhelper", "jackson", "gson"})
+    public String library;
+
+    @Param({"CASE_2", "LARGE_RECORDS"})
+    public String shape;
+
+    private JsonLibrary json;
+    private String input;
+    private Class<?> type;
+    private Object value;
+
+    @Setup
+    public void setup() throws Exception {
+        json = JsonLibrary.forName(library);
+        input = Payloads.get(shape);
+        type = Bound.typeOf(shape);
+        value = json.bind(input, type);
+    }
+
+    @Benchmark
+    public Object bind() throws Exception {
+        return json.bind(input, type);
+    }
+
+    @Benchmark
+    public String serializeBound() throws Exception {
+        return json.serializeBound(value);
+    }
+}
@@ -0,0 +1,46 @@
+package benchmark;
+
+import java.util.List;
+import java.util.Map;
+
+// Classes the payloads bind to, with public fields so every library can bind them the same way.
+public final class Bound {
+    private Bound() {
+    }
+
+    public static Class<?> typeOf(String shape) {
+        switch (shape) {
+            case "CASE_2":
+                return Sites.class;
+            case "LARGE_RECORDS":
+                return Records.class;
+            default:
+                throw new IllegalArgumentException("No bound type for " + shape);
+        }
+    }
+
+    public static class Sites {
+        public String name;
+        public int alexa;
+        public Map<String, String> sites;
+    }
+
+    public static class Records {
+        public List<Record> records;
+    }
+
+    public static class Record {
+        public long id;
+        public String name;
+        public boolean active;
+        public double score;
+        public String note;
+        public List<String> tags;
+        public Location location;
+    }
+
+    public static class Location {
+        public double lat;
+        public double lng;
+    }
+}
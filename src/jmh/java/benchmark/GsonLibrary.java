@@ -0,0 +1,88 @@
+package benchmark;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.google.gson.JsonPrimitive;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+
+public class GsonLibrary implements JsonLibrary {
+    private final Gson gson = new Gson();
+    // Writes nulls and leaves HTML characters alone, as JsonElement.toString does
+    private final TypeAdapter<JsonElement> elements = gson.getAdapter(JsonElement.class);
+    private final StringBuilderWriter buffer = new StringBuilderWriter();
+
+    @Override
+    public Object parse(String input) {
+        return JsonParser.parseString(input);
+    }
+
+    @Override
+    public Object parseUtf8(byte[] input) {
+        return JsonParser.parseReader(new InputStreamReader(new ByteArrayInputStream(input), StandardCharsets.UTF_8));
+    }
+
+    @Override
+    public String serialize(Object tree) {
+        return tree.toString();
+    }
+
+    @Override
+    public CharSequence serializeToBuffer(Object tree) throws IOException {
+        StringBuilder builder = buffer.reset();
+        elements.write(new JsonWriter(buffer), (JsonElement) tree);
+        return builder;
+    }
+
+    @Override
+    public Object bind(String input, Class<?> type) {
+        return gson.fromJson(input, type);
+    }
+
+    @Override
+    public String serializeBound(Object value) {
+        return gson.toJson(value);
+    }
+
+    @Override
+    public double readScalars(Object tree) {
+        return walk((JsonElement) tree);
+    }
+
+    private static double walk(JsonElement element) {
+        if (element.isJsonNull()) {
+            return 0;
+        } else if (element.isJsonPrimitive()) {
+            JsonPrimitive primitive = element.getAsJsonPrimitive();
+            if (primitive.isBoolean()) {
+                return primitive.getAsBoolean() ? 1 : 0;
+            } else if (primitive.isNumber()) {
+                return primitive.getAsLong() + primitive.getAsDouble();
+            } else {
+                return primitive.getAsString().length();
+            }
+        } else if (element.isJsonArray()) {
+            double sum = 0;
+            JsonArray array = element.getAsJsonArray();
+            for (int i = 0; i < array.size(); ++i) {
+                sum += walk(array.get(i));
+            }
+            return sum;
+        } else {
+            double sum = 0;
+            JsonObject object = element.getAsJsonObject();
+            for (String key : object.keySet()) {
+                sum += walk(object.get(key));
+            }
+            return sum;
+        }
+    }
+}
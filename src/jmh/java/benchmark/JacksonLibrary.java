@@ -0,0 +1,77 @@
+package benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.util.Iterator;
+
+public class JacksonLibrary implements JsonLibrary {
+    private final ObjectMapper mapper = new ObjectMapper();
+    private final StringBuilderWriter buffer = new StringBuilderWriter();
+
+    @Override
+    public Object parse(String input) throws Exception {
+        return mapper.readTree(input);
+    }
+
+    @Override
+    public Object parseUtf8(byte[] input) throws Exception {
+        return mapper.readTree(input);
+    }
+
+    @Override
+    public String serialize(Object tree) throws Exception {
+        return mapper.writeValueAsString(tree);
+    }
+
+    @Override
+    public CharSequence serializeToBuffer(Object tree) throws Exception {
+        StringBuilder builder = buffer.reset();
+        mapper.writeValue(buffer, tree);
+        return builder;
+    }
+
+    @Override
+    public Object bind(String input, Class<?> type) throws Exception {
+        return mapper.readValue(input, type);
+    }
+
+    @Override
+    public String serializeBound(Object value) throws Exception {
+        return mapper.writeValueAsString(value);
+    }
+
+    @Override
+    public double readScalars(Object tree) {
+        return walk((JsonNode) tree);
+    }
+
+    private static double walk(JsonNode node) {
+        switch (node.getNodeType()) {
+            case NULL:
+                return 0;
+            case BOOLEAN:
+                return node.booleanValue() ? 1 : 0;
+            case NUMBER:
+                return node.longValue() + node.doubleValue();
+            case STRING:
+                return node.textValue().length();
+            case ARRAY: {
+                double sum = 0;
+                for (int i = 0; i < node.size(); ++i) {
+                    sum += walk(node.get(i));
+                }
+                return sum;
+            }
+            case OBJECT: {
+                double sum = 0;
+                for (Iterator<String> it = node.fieldNames(); it.hasNext(); ) {
+                    sum += walk(node.get(it.next()));
+                }
+                return sum;
+            }
+            default:
+                throw new IllegalStateException();
+        }
+    }
+}
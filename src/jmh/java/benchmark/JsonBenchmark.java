@@ -0,0 +1,70 @@
+package benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+// Parse, serialize and typed getter benchmarks for Json Helper, Jackson and Gson.
+// Throughput and sample time (latency percentiles) are reported by default, run with -prof gc to add the allocation rate.
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class JsonBenchmark {
+    @Param({"jsonhelper", "jackson", "gson"})
+    public String library;
+
+    @Param({"CASE_1", "CASE_2", "CASE_3", "CASE_4", "CASE_5", "CASE_6", "LARGE_RECORDS", "LARGE_NUMBERS"})
+    public String shape;
+
+    private JsonLibrary json;
+    private String input;
+    private byte[] utf8;
+    private Object tree;
+
+    @Setup
+    public void setup() throws Exception {
+        json = JsonLibrary.forName(library);
+        input = Payloads.get(shape);
+        utf8 = input.getBytes(StandardCharsets.UTF_8);
+        tree = json.parse(input);
+    }
+
+    @Benchmark
+    public Object parse() throws Exception {
+        return json.parse(input);
+    }
+
+    @Benchmark
+    public Object parseUtf8() throws Exception {
+        return json.parseUtf8(utf8);
+    }
+
+    @Benchmark
+    public String serialize() throws Exception {
+        return json.serialize(tree);
+    }
+
+    @Benchmark
+    public CharSequence serializeToBuffer() throws Exception {
+        return json.serializeToBuffer(tree);
+    }
+
+    @Benchmark
+    public double readScalars() {
+        return json.readScalars(tree);
+    }
+}
@@ -0,0 +1,47 @@
+package benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+// Json Helper parsing modes with no counterpart in the other libraries, compare with JsonBenchmark.parse
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class JsonHelperBenchmark {
+    @Param({"CASE_1", "CASE_2", "CASE_3", "CASE_4", "CASE_5", "CASE_6", "LARGE_RECORDS", "LARGE_NUMBERS"})
+    public String shape;
+
+    private JsonHelperModes json;
+    private String input;
+
+    @Setup
+    public void setup() throws Exception {
+        json = JsonHelperModes.create();
+        input = Payloads.get(shape);
+        json.expectShape(input);
+    }
+
+    @Benchmark
+    public Object parseReused() throws Exception {
+        return json.parseReused(input);
+    }
+
+    @Benchmark
+    public Object parseShaped() throws Exception {
+        return json.parseShaped(input);
+    }
+}
@@ -0,0 +1,16 @@
+package benchmark;
+
+// Parsing modes only Json Helper has, benchmarked on their own by JsonHelperBenchmark
+public interface JsonHelperModes {
+    // Parses through one JsonParser kept between calls
+    Object parseReused(String input) throws Exception;
+
+    // Specializes the decoder to documents shaped like sample, for parseShaped
+    void expectShape(String sample) throws Exception;
+
+    Object parseShaped(String input) throws Exception;
+
+    static JsonHelperModes create() throws ReflectiveOperationException {
+        return (JsonHelperModes) JsonLibrary.forName("jsonhelper");
+    }
+}
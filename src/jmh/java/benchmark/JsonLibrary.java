@@ -0,0 +1,36 @@
+package benchmark;
+
+// A JSON library under benchmark.
+// JMH refuses benchmark classes in the default package, and classes in a named package can not reference
+// the default package, so Json Helper is reached through JsonHelperLibrary, which lives there and is loaded by name.
+public interface JsonLibrary {
+    Object parse(String input) throws Exception;
+
+    Object parseUtf8(byte[] input) throws Exception;
+
+    String serialize(Object tree) throws Exception;
+
+    // Serializes into a buffer kept between calls, the returned text is only valid until the next call
+    CharSequence serializeToBuffer(Object tree) throws Exception;
+
+    // Binds to one of the classes in Bound
+    Object bind(String input, Class<?> type) throws Exception;
+
+    String serializeBound(Object value) throws Exception;
+
+    // Walks the whole tree through the typed getters and folds every scalar into one number.
+    double readScalars(Object tree);
+
+    static JsonLibrary forName(String name) throws ReflectiveOperationException {
+        switch (name) {
+            case "jsonhelper":
+                return (JsonLibrary) Class.forName("JsonHelperLibrary").getDeclaredConstructor().newInstance();
+            case "jackson":
+                return new JacksonLibrary();
+            case "gson":
+                return new GsonLibrary();
+            default:
+                throw new IllegalArgumentException("Unknown JSON library: " + name);
+        }
+    }
+}
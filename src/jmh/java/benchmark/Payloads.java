@@ -0,0 +1,54 @@
+package benchmark;
+
+import java.util.Random;
+
+public final class Payloads {
+    private Payloads() {
+    }
+
+    public static String get(String shape) throws ReflectiveOperationException {
+        switch (shape) {
+            case "LARGE_RECORDS":
+                return largeRecords(10000);
+            case "LARGE_NUMBERS":
+                return largeNumbers(100000);
+            default:
+                // CASE_1..CASE_6 are the fixtures Main checks for correctness.
+                return (String) Class.forName("Main").getField(shape).get(null);
+        }
+    }
+
+    // About 1.5 MB of records mixing every JSON type, escapes and nesting.
+    public static String largeRecords(int count) {
+        Random random = new Random(42);
+        StringBuilder sb = new StringBuilder("{\"records\":[");
+        for (int i = 0; i < count; ++i) {
+            if (i > 0) sb.append(',');
+            sb.append("{\"id\":").append(i)
+                    .append(",\"name\":\"user_").append(random.nextInt(100000)).append('"')
+                    .append(",\"active\":").append(random.nextBoolean())
+                    .append(",\"score\":").append(random.nextInt(10000) / 100.0)
+                    .append(",\"note\":").append(i % 3 == 0 ? "null" : "\"line \\\"quoted\\\"\\n\\u00e9\"")
+                    .append(",\"tags\":[\"a\",\"b\",\"c\"]")
+                    .append(",\"location\":{\"lat\":").append(random.nextDouble() * 180 - 90)
+                    .append(",\"lng\":").append(random.nextDouble() * 360 - 180)
+                    .append("}}");
+        }
+        return sb.append("]}").toString();
+    }
+
+    // A metrics style array of integers and decimals.
+    public static String largeNumbers(int count) {
+        Random random = new Random(42);
+        StringBuilder sb = new StringBuilder("{\"values\":[");
+        for (int i = 0; i < count; ++i) {
+            if (i > 0) sb.append(',');
+            if (i % 2 == 0) {
+                sb.append(random.nextInt() >> 8);
+            } else {
+                sb.append(random.nextInt(1000000) / 1000.0);
+            }
+        }
+        return sb.append("]}").toString();
+    }
+}
@@ -0,0 +1,42 @@
+package benchmark;
+
+import java.io.Writer;
+
+// Unsynchronized Writer over a StringBuilder that is cleared and reused, unlike StringWriter's StringBuffer
+class StringBuilderWriter extends Writer {
+    private final StringBuilder builder = new StringBuilder();
+
+    StringBuilder reset() {
+        builder.setLength(0);
+        return builder;
+    }
+
+    @Override
+    public void write(int c) {
+        builder.append((char) c);
+    }
+
+    @Override
+    public void write(char[] buffer, int offset, int length) {
+        builder.append(buffer, offset, length);
+    }
+
+    @Override
+    public void write(String str, int offset, int length) {
+        builder.append(str, offset, offset + length);
+    }
+
+    @Override
+    public Writer append(CharSequence csq) {
+        builder.append(csq);
+        return this;
+    }
+
+    @Override
+    public void flush() {
+    }
+
+    @Override
+    public void close() {
+    }
+}
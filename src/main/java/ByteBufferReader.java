@@ -0,0 +1,40 @@
+import java.io.Reader;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+
+// Decodes UTF-8 straight from a ByteBuffer into the caller's char array, consuming the buffer as it goes.
+class ByteBufferReader extends Reader {
+    private final ByteBuffer input;
+    private final CharsetDecoder decoder = StandardCharsets.UTF_8.newDecoder()
+            .onMalformedInput(CodingErrorAction.REPLACE)
+            .onUnmappableCharacter(CodingErrorAction.REPLACE);
+    private boolean decoded;
+    private boolean flushed;
+
+    public ByteBufferReader(ByteBuffer input) {
+        this.input = input;
+    }
+
+    @Override
+    public int read(char[] cbuf, int off, int len) {
+        if (flushed) {
+            return -1;
+        }
+        CharBuffer output = CharBuffer.wrap(cbuf, off, len);
+        if (!decoded) {
+            decoded = decoder.decode(input, output, true).isUnderflow();
+        }
+        if (decoded) {
+            flushed = decoder.flush(output).isUnderflow();
+        }
+        int count = output.position() - off;
+        return count == 0 && flushed ? -1 : count;
+    }
+
+    @Override
+    public void close() {
+    }
+}
@@ -0,0 +1,844 @@
+import java.io.IOException;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Array;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.GenericArrayType;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.lang.reflect.WildcardType;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// Converts between JsonObject or raw input and one Java type. Codecs are built once per class and cached,
+// objects are bound field by field through method handles resolved when the codec is first used.
+// Supported: primitives and their boxes, String, char, enums, BigInteger, BigDecimal, JsonNumber, JsonObject,
+// arrays, List and Map with String keys, and classes with a no-arg constructor, bound by their non-transient fields.
+// A field of type Object takes the JsonObject as is. JSON null is Java null, keys without a field are ignored.
+abstract class JsonCodec {
+    private static final ClassValue<JsonCodec> CODECS = new ClassValue<JsonCodec>() {
+        @Override
+        protected JsonCodec computeValue(Class<?> type) {
+            return create(type);
+        }
+    };
+    private static final JsonCodec ANY = new AnyCodec();
+    private static final JsonCodec ANY_LIST = new ListCodec(ANY);
+    private static final JsonCodec ANY_MAP = new MapCodec(ANY);
+
+    // Primitives take no null
+    private final boolean nullable;
+
+    JsonCodec(boolean nullable) {
+        this.nullable = nullable;
+    }
+
+    static JsonCodec of(Type type) {
+        if (type instanceof Class) {
+            return CODECS.get((Class<?>) type);
+        } else if (type instanceof ParameterizedType) {
+            Class<?> raw = (Class<?>) ((ParameterizedType) type).getRawType();
+            Type[] arguments = ((ParameterizedType) type).getActualTypeArguments();
+            if (raw.isAssignableFrom(ArrayList.class)) {
+                return new ListCodec(of(arguments[0]));
+            } else if (raw.isAssignableFrom(LinkedHashMap.class)) {
+                if (arguments[0] != String.class) {
+                    throw unsupported(type);
+                }
+                return new MapCodec(of(arguments[1]));
+            }
+            return of(raw);
+        } else if (type instanceof GenericArrayType) {
+            Type component = ((GenericArrayType) type).getGenericComponentType();
+            JsonCodec codec = of(component);
+            Class<?> rawComponent = component instanceof ParameterizedType
+                    ? (Class<?>) ((ParameterizedType) component).getRawType() : Object.class;
+            return new ArrayCodec(rawComponent, codec);
+        } else if (type instanceof WildcardType) {
+            return of(((WildcardType) type).getUpperBounds()[0]);
+        }
+        throw unsupported(type);
+    }
+
+    private static JsonCodec create(Class<?> type) {
+        if (type == int.class || type == long.class || type == double.class || type == float.class
+                || type == short.class || type == byte.class) {
+            return new NumberCodec(type, false);
+        } else if (type == Integer.class || type == Long.class || type == Double.class || type == Float.class
+                || type == Short.class || type == Byte.class || type == BigInteger.class
+                || type == BigDecimal.class || type == JsonNumber.class) {
+            return new NumberCodec(type, true);
+        } else if (type == boolean.class || type == Boolean.class) {
+            return new BooleanCodec(type == Boolean.class);
+        } else if (type == char.class || type == Character.class) {
+            return new CharCodec(type == Character.class);
+        } else if (type == String.class) {
+            return new StringCodec();
+        } else if (type == JsonObject.class || type == Object.class) {
+            return ANY;
+        } else if (Enum.class.isAssignableFrom(type)) {
+            // Constants with a body are subclasses of their enum
+            return new EnumCodec(type.isEnum() ? type : type.getSuperclass());
+        } else if (type.isArray()) {
+            return new ArrayCodec(type.getComponentType(), of(type.getComponentType()));
+        } else if (type.isAssignableFrom(ArrayList.class)) {
+            return ANY_LIST;
+        } else if (type.isAssignableFrom(LinkedHashMap.class)) {
+            return ANY_MAP;
+        } else if (type.isPrimitive() || type.isInterface() || Modifier.isAbstract(type.getModifiers())
+                || Collection.class.isAssignableFrom(type) || Map.class.isAssignableFrom(type)) {
+            throw unsupported(type);
+        }
+        return new ObjectCodec(type);
+    }
+
+    // Encodes by the runtime class, any collection or map by its interface
+    static JsonObject encodeAny(Object value) {
+        if (value == null) {
+            return JsonObject.NULL;
+        } else if (value instanceof JsonObject) {
+            return (JsonObject) value;
+        } else if (value instanceof Collection) {
+            return ANY_LIST.encode(value);
+        } else if (value instanceof Map) {
+            return ANY_MAP.encode(value);
+        }
+        return of(value.getClass()).encode(value);
+    }
+
+    // Writes by the runtime class, the same text as writing encodeAny(value)
+    static void writeAny(JsonWriter writer, Object value) throws IOException {
+        if (value == null) {
+            writer.write("null");
+        } else if (value instanceof JsonObject) {
+            writer.writeValue((JsonObject) value);
+        } else if (value instanceof Collection) {
+            ANY_LIST.write(writer, value);
+        } else if (value instanceof Map) {
+            ANY_MAP.write(writer, value);
+        } else {
+            of(value.getClass()).write(writer, value);
+        }
+    }
+
+    private static JsonIOException unsupported(Type type) {
+        return new JsonIOException(String.format("Bind Error - Unsupported type %s.", type.getTypeName()));
+    }
+
+    // A Java value from a tree
+    final Object decode(JsonObject value) {
+        if (nullable && value.getJsonType() == JsonType.Null) {
+            return null;
+        }
+        return decodeValue(value);
+    }
+
+    // A Java value from the parser, which is on its first char and is left just past its last
+    final Object read(JsonParser parser) throws JsonObject.JsonParseException {
+        if (nullable && parser.current() == 'n') {
+            parser.parseValueBody();
+            return null;
+        }
+        return readValue(parser);
+    }
+
+    final JsonObject encode(Object value) {
+        if (value == null) {
+            return JsonObject.NULL;
+        }
+        return encodeValue(value);
+    }
+
+    final void write(JsonWriter writer, Object value) throws IOException {
+        if (value == null) {
+            writer.write("null");
+            return;
+        }
+        writeValue(writer, value);
+    }
+
+    abstract Object decodeValue(JsonObject value);
+
+    abstract JsonObject encodeValue(Object value);
+
+    // Straight to the writer, with the same text as writing encodeValue(value)
+    void writeValue(JsonWriter writer, Object value) throws IOException {
+        writer.writeValue(encodeValue(value));
+    }
+
+    // Scalars go through their JsonObject, which is a shared constant for everything but numbers and strings
+    Object readValue(JsonParser parser) throws JsonObject.JsonParseException {
+        return decodeValue(parser.parseValueBody());
+    }
+
+    // The parser is on whitespace or the value's first char
+    static Object readElement(JsonParser parser, JsonCodec codec) throws JsonObject.JsonParseException {
+        parser.skipWhitespace();
+        Object value = codec.read(parser);
+        parser.skipWhitespace();
+        return value;
+    }
+
+    private static class NumberCodec extends JsonCodec {
+        private final Class<?> type;
+
+        NumberCodec(Class<?> type, boolean nullable) {
+            super(nullable);
+            this.type = type;
+        }
+
+        @Override
+        Object decodeValue(JsonObject value) {
+            return convert(value.getNumber());
+        }
+
+        @Override
+        Object readValue(JsonParser parser) throws JsonObject.JsonParseException {
+            return convert(readNumber(parser));
+        }
+
+        // Anything but a number fails with the type it is
+        static JsonNumber readNumber(JsonParser parser) throws JsonObject.JsonParseException {
+            char c = parser.current();
+            if (c == '-' || (c >= '0' && c <= '9')) {
+                return parser.parseNumberBody();
+            }
+            return parser.parseValueBody().getNumber();
+        }
+
+        private Object convert(JsonNumber number) {
+            if (type == int.class || type == Integer.class) {
+                return number.intValue();
+            } else if (type == long.class || type == Long.class) {
+                return number.longValue();
+            } else if (type == double.class || type == Double.class) {
+                return number.doubleValue();
+            } else if (type == float.class || type == Float.class) {
+                return number.floatValue();
+            } else if (type == short.class || type == Short.class) {
+                return number.shortValue();
+            } else if (type == byte.class || type == Byte.class) {
+                return number.byteValue();
+            } else if (type == BigInteger.class) {
+                return new BigDecimal(number.toString()).toBigInteger();
+            } else if (type == BigDecimal.class) {
+                return new BigDecimal(number.toString());
+            }
+            return number;
+        }
+
+        @Override
+        JsonObject encodeValue(Object value) {
+            if (value instanceof Double) {
+                return JsonObject.valueOf((double) value);
+            } else if (value instanceof Float) {
+                return new JsonObject((float) value);
+            } else if (value instanceof JsonNumber) {
+                return JsonObject.valueOf((JsonNumber) value);
+            } else if (value instanceof BigInteger || value instanceof BigDecimal) {
+                return JsonObject.valueOf(new JsonNumber(value.toString()));
+            }
+            return JsonObject.valueOf(((Number) value).longValue());
+        }
+
+        @Override
+        void writeValue(JsonWriter writer, Object value) throws IOException {
+            if (value instanceof Double) {
+                writer.writeDouble((double) value);
+            } else if (value instanceof Integer || value instanceof Long || value instanceof Short || value instanceof Byte) {
+                writer.writeLong(((Number) value).longValue());
+            } else {
+                super.writeValue(writer, value);
+            }
+        }
+    }
+
+    private static class BooleanCodec extends JsonCodec {
+        BooleanCodec(boolean nullable) {
+            super(nullable);
+        }
+
+        @Override
+        Object decodeValue(JsonObject value) {
+            return value.getBool();
+        }
+
+        @Override
+        JsonObject encodeValue(Object value) {
+            return JsonObject.valueOf((boolean) value);
+        }
+
+        @Override
+        void writeValue(JsonWriter writer, Object value) throws IOException {
+            writer.write((boolean) value ? "true" : "false");
+        }
+    }
+
+    private static class CharCodec extends JsonCodec {
+        CharCodec(boolean nullable) {
+            super(nullable);
+        }
+
+        @Override
+        Object decodeValue(JsonObject value) {
+            String string = value.getString();
+            if (string.length() != 1) {
+                throw new JsonIOException(String.format("Bind Error - \"%s\" is not a single char.", string));
+            }
+            return string.charAt(0);
+        }
+
+        @Override
+        JsonObject encodeValue(Object value) {
+            return new JsonObject(String.valueOf((char) value));
+        }
+
+        @Override
+        void writeValue(JsonWriter writer, Object value) throws IOException {
+            writer.writeString(String.valueOf((char) value));
+        }
+    }
+
+    private static class StringCodec extends JsonCodec {
+        StringCodec() {
+            super(true);
+        }
+
+        @Override
+        Object decodeValue(JsonObject value) {
+            return value.getString();
+        }
+
+        @Override
+        Object readValue(JsonParser parser) throws JsonObject.JsonParseException {
+            if (parser.current() == '"') {
+                return parser.parseString(null);
+            }
+            return decodeValue(parser.parseValueBody());
+        }
+
+        @Override
+        JsonObject encodeValue(Object value) {
+            return new JsonObject((String) value);
+        }
+
+        @Override
+        void writeValue(JsonWriter writer, Object value) throws IOException {
+            writer.writeString((String) value);
+        }
+    }
+
+    private static class EnumCodec extends JsonCodec {
+        private final Class<?> type;
+        private final Map<String, Object> constants = new HashMap<>();
+
+        EnumCodec(Class<?> type) {
+            super(true);
+            this.type = type;
+            for (Object constant : type.getEnumConstants()) {
+                constants.put(((Enum<?>) constant).name(), constant);
+            }
+        }
+
+        @Override
+        Object decodeValue(JsonObject value) {
+            Object constant = constants.get(value.getString());
+            if (constant == null) {
+                throw new JsonIOException(String.format("Bind Error - %s has no constant %s.", type.getName(), value.getString()));
+            }
+            return constant;
+        }
+
+        @Override
+        JsonObject encodeValue(Object value) {
+            return new JsonObject(((Enum<?>) value).name());
+        }
+
+        @Override
+        void writeValue(JsonWriter writer, Object value) throws IOException {
+            writer.writeString(((Enum<?>) value).name());
+        }
+    }
+
+    // JsonObject fields take the tree as is, Object fields too, and values are encoded by their runtime class
+    private static class AnyCodec extends JsonCodec {
+        AnyCodec() {
+            super(false);
+        }
+
+        @Override
+        Object decodeValue(JsonObject value) {
+            return value;
+        }
+
+        @Override
+        JsonObject encodeValue(Object value) {
+            return encodeAny(value);
+        }
+
+        @Override
+        void writeValue(JsonWriter writer, Object value) throws IOException {
+            writeAny(writer, value);
+        }
+    }
+
+    private static class ListCodec extends JsonCodec {
+        private final JsonCodec element;
+
+        ListCodec(JsonCodec element) {
+            super(true);
+            this.element = element;
+        }
+
+        @Override
+        Object decodeValue(JsonObject value) {
+            List<JsonObject> list = value.getList();
+            List<Object> result = new ArrayList<>(list.size());
+            for (int i = 0; i < list.size(); ++i) {
+                result.add(element.decode(list.get(i)));
+            }
+            return result;
+        }
+
+        @Override
+        Object readValue(JsonParser parser) throws JsonObject.JsonParseException {
+            if (parser.current() != '[') {
+                return decodeValue(parser.parseValueBody());
+            }
+            List<Object> result = new ArrayList<>();
+            parser.advance();
+            parser.skipWhitespace();
+            if (parser.current() != ']') {
+                while (true) {
+                    result.add(readElement(parser, element));
+                    char c = parser.current();
+                    if (c == ']') {
+                        break;
+                    } else if (c != ',') {
+                        throw new JsonObject.JsonParseException("Missing comma in list", parser.position());
+                    }
+                    parser.advance();
+                }
+            }
+            parser.advance();
+            return result;
+        }
+
+        @Override
+        JsonObject encodeValue(Object value) {
+            List<JsonObject> list = new ArrayList<>();
+            for (Object item : (Iterable<?>) value) {
+                list.add(element.encode(item));
+            }
+            return new JsonObject(list);
+        }
+
+        @Override
+        void writeValue(JsonWriter writer, Object value) throws IOException {
+            writer.write('[');
+            boolean first = true;
+            for (Object item : (Iterable<?>) value) {
+                if (!first) writer.write(',');
+                first = false;
+                element.write(writer, item);
+            }
+            writer.write(']');
+        }
+    }
+
+    private static class ArrayCodec extends JsonCodec {
+        private final Class<?> component;
+        private final ListCodec list;
+
+        ArrayCodec(Class<?> component, JsonCodec element) {
+            super(true);
+            this.component = component;
+            this.list = new ListCodec(element);
+        }
+
+        @Override
+        Object decodeValue(JsonObject value) {
+            return toArray((List<?>) list.decodeValue(value));
+        }
+
+        @Override
+        Object readValue(JsonParser parser) throws JsonObject.JsonParseException {
+            return toArray((List<?>) list.readValue(parser));
+        }
+
+        private Object toArray(List<?> items) {
+            Object array = Array.newInstance(component, items.size());
+            for (int i = 0; i < items.size(); ++i) {
+                Array.set(array, i, items.get(i));
+            }
+            return array;
+        }
+
+        @Override
+        JsonObject encodeValue(Object value) {
+            int length = Array.getLength(value);
+            List<JsonObject> items = new ArrayList<>(length);
+            for (int i = 0; i < length; ++i) {
+                items.add(list.element.encode(Array.get(value, i)));
+            }
+            return new JsonObject(items);
+        }
+
+        @Override
+        void writeValue(JsonWriter writer, Object value) throws IOException {
+            writer.write('[');
+            int length = Array.getLength(value);
+            for (int i = 0; i < length; ++i) {
+                if (i > 0) writer.write(',');
+                list.element.write(writer, Array.get(value, i));
+            }
+            writer.write(']');
+        }
+    }
+
+    private static class MapCodec extends JsonCodec {
+        private final JsonCodec value;
+
+        MapCodec(JsonCodec value) {
+            super(true);
+            this.value = value;
+        }
+
+        @Override
+        Object decodeValue(JsonObject object) {
+            Map<String, Object> result = new LinkedHashMap<>();
+            for (Map.Entry<String, JsonObject> entry : object.getObject().entrySet()) {
+                result.put(entry.getKey(), value.decode(entry.getValue()));
+            }
+            return result;
+        }
+
+        @Override
+        Object readValue(JsonParser parser) throws JsonObject.JsonParseException {
+            if (parser.current() != '{') {
+                return decodeValue(parser.parseValueBody());
+            }
+            Map<String, Object> result = new LinkedHashMap<>();
+            parser.advance();
+            parser.skipWhitespace();
+            if (parser.current() != '}') {
+                while (true) {
+                    parser.skipWhitespace();
+                    String key = parser.parseString(null);
+                    ObjectCodec.readColon(parser);
+                    result.put(key, readElement(parser, value));
+                    if (ObjectCodec.readSeparator(parser)) {
+                        break;
+                    }
+                }
+            }
+            parser.advance();
+            return result;
+        }
+
+        @Override
+        JsonObject encodeValue(Object object) {
+            Map<String, JsonObject> map = new LinkedHashMap<>();
+            for (Map.Entry<?, ?> entry : ((Map<?, ?>) object).entrySet()) {
+                map.put((String) entry.getKey(), value.encode(entry.getValue()));
+            }
+            return new JsonObject(map);
+        }
+
+        @Override
+        void writeValue(JsonWriter writer, Object object) throws IOException {
+            writer.write('{');
+            boolean first = true;
+            for (Map.Entry<?, ?> entry : ((Map<?, ?>) object).entrySet()) {
+                if (!first) writer.write(',');
+                first = false;
+                writer.writeKey((String) entry.getKey());
+                value.write(writer, entry.getValue());
+            }
+            writer.write('}');
+        }
+    }
+
+    // A bound field, fields of type int, long, double and boolean are read and written without boxing
+    private static class Property {
+        private static final int BOXED = 0;
+        private static final int INT = 1;
+        private static final int LONG = 2;
+        private static final int DOUBLE = 3;
+        private static final int BOOLEAN = 4;
+
+        final String name;
+        private final int kind;
+        private final MethodHandle getter;
+        private final MethodHandle setter;
+        private final JsonCodec codec;
+
+        Property(String name, Field field, MethodHandles.Lookup lookup) throws IllegalAccessException {
+            Class<?> type = field.getType();
+            Class<?> exact = type == int.class || type == long.class || type == double.class || type == boolean.class
+                    ? type : Object.class;
+            this.name = name;
+            this.kind = exact == int.class ? INT : exact == long.class ? LONG : exact == double.class ? DOUBLE
+                    : exact == boolean.class ? BOOLEAN : BOXED;
+            this.getter = lookup.unreflectGetter(field).asType(MethodType.methodType(exact, Object.class));
+            this.setter = lookup.unreflectSetter(field).asType(MethodType.methodType(void.class, Object.class, exact));
+            this.codec = of(field.getGenericType());
+        }
+
+        void decode(Object instance, JsonObject value) throws Throwable {
+            switch (kind) {
+                case INT:
+                    setter.invokeExact(instance, value.getInt());
+                    break;
+                case LONG:
+                    setter.invokeExact(instance, value.getLong());
+                    break;
+                case DOUBLE:
+                    setter.invokeExact(instance, value.getDouble());
+                    break;
+                case BOOLEAN:
+                    setter.invokeExact(instance, value.getBool());
+                    break;
+                default:
+                    setter.invokeExact(instance, codec.decode(value));
+            }
+        }
+
+        // The parser is on whitespace or the value's first char
+        void read(Object instance, JsonParser parser) throws Throwable {
+            parser.skipWhitespace();
+            switch (kind) {
+                case INT:
+                    setter.invokeExact(instance, NumberCodec.readNumber(parser).intValue());
+                    break;
+                case LONG:
+                    setter.invokeExact(instance, NumberCodec.readNumber(parser).longValue());
+                    break;
+                case DOUBLE:
+                    setter.invokeExact(instance, NumberCodec.readNumber(parser).doubleValue());
+                    break;
+                case BOOLEAN:
+                    setter.invokeExact(instance, parser.parseValueBody().getBool());
+                    break;
+                default:
+                    setter.invokeExact(instance, codec.read(parser));
+            }
+            parser.skipWhitespace();
+        }
+
+        JsonObject encode(Object instance) throws Throwable {
+            switch (kind) {
+                case INT:
+                    return JsonObject.valueOf((int) getter.invokeExact(instance));
+                case LONG:
+                    return JsonObject.valueOf((long) getter.invokeExact(instance));
+                case DOUBLE:
+                    return JsonObject.valueOf((double) getter.invokeExact(instance));
+                case BOOLEAN:
+                    return JsonObject.valueOf((boolean) getter.invokeExact(instance));
+                default:
+                    return codec.encode((Object) getter.invokeExact(instance));
+            }
+        }
+
+        void write(JsonWriter writer, Object instance) throws Throwable {
+            switch (kind) {
+                case INT:
+                    writer.writeLong((int) getter.invokeExact(instance));
+                    break;
+                case LONG:
+                    writer.writeLong((long) getter.invokeExact(instance));
+                    break;
+                case DOUBLE:
+                    writer.writeDouble((double) getter.invokeExact(instance));
+                    break;
+                case BOOLEAN:
+                    writer.write((boolean) getter.invokeExact(instance) ? "true" : "false");
+                    break;
+                default:
+                    codec.write(writer, (Object) getter.invokeExact(instance));
+            }
+        }
+    }
+
+    private static class ObjectCodec extends JsonCodec {
+        private final Class<?> type;
+        // Resolved on first use, so a class can have fields of its own type
+        private volatile Property[] properties;
+        private String[] names;
+        private MethodHandle constructor;
+
+        ObjectCodec(Class<?> type) {
+            super(true);
+            this.type = type;
+        }
+
+        private Property[] properties() {
+            Property[] result = properties;
+            if (result == null) {
+                result = resolve();
+            }
+            return result;
+        }
+
+        private synchronized Property[] resolve() {
+            if (properties != null) {
+                return properties;
+            }
+            MethodHandles.Lookup lookup = MethodHandles.lookup();
+            Map<String, Property> result = new LinkedHashMap<>();
+            try {
+                Constructor<?> noArgs = type.getDeclaredConstructor();
+                noArgs.setAccessible(true);
+                constructor = lookup.unreflectConstructor(noArgs).asType(MethodType.methodType(Object.class));
+                for (Class<?> c = type; c != Object.class; c = c.getSuperclass()) {
+                    for (Field field : c.getDeclaredFields()) {
+                        int modifiers = field.getModifiers();
+                        // A field hidden by a subclass field of the same name is not bound
+                        if (Modifier.isStatic(modifiers) || Modifier.isTransient(modifiers) || field.isSynthetic()
+                                || result.containsKey(field.getName())) {
+                            continue;
+                        }
+                        field.setAccessible(true);
+                        result.put(field.getName(), new Property(field.getName(), field, lookup));
+                    }
+                }
+            } catch (NoSuchMethodException e) {
+                throw new JsonIOException(String.format("Bind Error - %s has no no-arg constructor.", type.getName()), e);
+            } catch (JsonIOException e) {
+                throw e;
+            } catch (ReflectiveOperationException | RuntimeException e) {
+                throw new JsonIOException(String.format("Bind Error - Can not bind %s, %s", type.getName(), e.getMessage()), e);
+            }
+            names = result.keySet().toArray(new String[0]);
+            return properties = result.values().toArray(new Property[0]);
+        }
+
+        // Exceptions from the constructor or the handles that are neither unchecked nor a parse error
+        private static JsonIOException bindError(Throwable e) {
+            return new JsonIOException("Bind Error - " + e.getMessage(), e);
+        }
+
+        @Override
+        Object decodeValue(JsonObject value) {
+            Map<String, JsonObject> map = value.getObject();
+            Property[] properties = properties();
+            try {
+                Object instance = constructor.invokeExact();
+                for (Property property : properties) {
+                    JsonObject child = map.get(property.name);
+                    if (child != null) {
+                        property.decode(instance, child);
+                    }
+                }
+                return instance;
+            } catch (RuntimeException | Error e) {
+                throw e;
+            } catch (Throwable e) {
+                throw bindError(e);
+            }
+        }
+
+        @Override
+        Object readValue(JsonParser parser) throws JsonObject.JsonParseException {
+            if (parser.current() != '{') {
+                return decodeValue(parser.parseValueBody());
+            }
+            Property[] properties = properties();
+            try {
+                Object instance = constructor.invokeExact();
+                parser.advance();
+                parser.skipWhitespace();
+                if (parser.current() != '}') {
+                    // Keys usually come in field order, so the search for each starts after the last one found
+                    int hint = 0;
+                    while (true) {
+                        parser.skipWhitespace();
+                        int index = parser.parseKey(names, hint);
+                        readColon(parser);
+                        if (index >= 0) {
+                            properties[index].read(instance, parser);
+                            hint = index + 1 == properties.length ? 0 : index + 1;
+                        } else {
+                            parser.skipWhitespace();
+                            parser.skipValueBody();
+                            parser.skipWhitespace();
+                        }
+                        if (readSeparator(parser)) {
+                            break;
+                        }
+                    }
+                }
+                parser.advance();
+                return instance;
+            } catch (RuntimeException | Error | JsonObject.JsonParseException e) {
+                throw e;
+            } catch (Throwable e) {
+                throw bindError(e);
+            }
+        }
+
+        static void readColon(JsonParser parser) throws JsonObject.JsonParseException {
+            parser.skipWhitespace();
+            if (parser.current() != ':') {
+                throw new JsonObject.JsonParseException("Missing colon in object", parser.position());
+            }
+            parser.advance();
+        }
+
+        // Moves past a comma and returns false, or returns true on the closing brace
+        static boolean readSeparator(JsonParser parser) throws JsonObject.JsonParseException {
+            char c = parser.current();
+            if (c == '}') {
+                return true;
+            } else if (c != ',') {
+                throw new JsonObject.JsonParseException("Missing comma in object", parser.position());
+            }
+            parser.advance();
+            return false;
+        }
+
+        @Override
+        JsonObject encodeValue(Object value) {
+            Property[] properties = properties();
+            Map<String, JsonObject> map = new LinkedHashMap<>();
+            try {
+                for (Property property : properties) {
+                    map.put(property.name, property.encode(value));
+                }
+            } catch (RuntimeException | Error e) {
+                throw e;
+            } catch (Throwable e) {
+                throw bindError(e);
+            }
+            return new JsonObject(map);
+        }
+
+        @Override
+        void writeValue(JsonWriter writer, Object value) throws IOException {
+            Property[] properties = properties();
+            writer.write('{');
+            try {
+                for (int i = 0; i < properties.length; ++i) {
+                    if (i > 0) writer.write(',');
+                    writer.writeKey(properties[i].name);
+                    properties[i].write(writer, value);
+                }
+            } catch (RuntimeException | Error | IOException e) {
+                throw e;
+            } catch (Throwable e) {
+                throw bindError(e);
+            }
+            writer.write('}');
+        }
+    }
+}
@@ -0,0 +1,361 @@
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.function.BiConsumer;
+
+// Insertion ordered map stored as parallel key and value arrays.
+// Small maps are searched linearly, past INDEX_THRESHOLD entries an open addressing index is kept beside the arrays.
+class JsonCompactMap extends AbstractMap<String, JsonObject> {
+    private static final int INDEX_THRESHOLD = 8;
+    private static final String[] EMPTY_KEYS = {};
+    private static final JsonObject[] EMPTY_VALUES = {};
+
+    private String[] keys;
+    private JsonObject[] values;
+    private int size;
+    // Slot holds the entry position + 1, 0 marks an empty slot
+    private int[] index;
+    private int modCount;
+    // Keys and index belong to a JsonShape and are copied before this map changes them
+    private boolean shared;
+    // Built by JsonObject.freeze, every write is rejected and the hash is worked out once
+    private boolean frozen;
+    private int hash;
+
+    public JsonCompactMap() {
+        keys = EMPTY_KEYS;
+        values = EMPTY_VALUES;
+    }
+
+    // A full map over keys and their index from indexFor, values holds one value per key
+    JsonCompactMap(String[] keys, int[] index, JsonObject[] values) {
+        this.keys = keys;
+        this.index = index;
+        this.values = values;
+        this.size = keys.length;
+        this.shared = true;
+    }
+
+    // Takes ownership of both arrays, which hold one entry per key
+    static JsonCompactMap frozen(String[] keys, JsonObject[] values) {
+        JsonCompactMap map = new JsonCompactMap(keys, indexFor(keys), values);
+        map.frozen = true;
+        return map;
+    }
+
+    boolean isFrozen() {
+        return frozen;
+    }
+
+    // The index a map of exactly these keys keeps, or null when it is small enough to search linearly
+    static int[] indexFor(String[] keys) {
+        return keys.length > INDEX_THRESHOLD ? buildIndex(keys, keys.length) : null;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return indexOf(key) >= 0;
+    }
+
+    @Override
+    public JsonObject get(Object key) {
+        int i = indexOf(key);
+        return i >= 0 ? values[i] : null;
+    }
+
+    @Override
+    public JsonObject put(String key, JsonObject value) {
+        checkMutable();
+        if (key == null) {
+            throw new NullPointerException("JSON object keys can not be null.");
+        }
+        int i = indexOf(key);
+        if (i >= 0) {
+            JsonObject previous = values[i];
+            values[i] = value;
+            return previous;
+        }
+        unshare();
+        if (size == keys.length) {
+            int capacity = Math.max(4, size * 2);
+            keys = Arrays.copyOf(keys, capacity);
+            values = Arrays.copyOf(values, capacity);
+        }
+        keys[size] = key;
+        values[size] = value;
+        size++;
+        modCount++;
+        if (index != null) {
+            if (size * 2 > index.length) {
+                buildIndex();
+            } else {
+                insertIndex(size - 1);
+            }
+        } else if (size > INDEX_THRESHOLD) {
+            buildIndex();
+        }
+        return null;
+    }
+
+    @Override
+    public JsonObject remove(Object key) {
+        checkMutable();
+        int i = indexOf(key);
+        if (i < 0) {
+            return null;
+        }
+        JsonObject previous = values[i];
+        removeAt(i);
+        return previous;
+    }
+
+    @Override
+    public void clear() {
+        checkMutable();
+        unshare();
+        Arrays.fill(keys, 0, size, null);
+        Arrays.fill(values, 0, size, null);
+        size = 0;
+        index = null;
+        modCount++;
+    }
+
+    @Override
+    public void forEach(BiConsumer<? super String, ? super JsonObject> action) {
+        int expected = modCount;
+        for (int i = 0; i < size; ++i) {
+            action.accept(keys[i], values[i]);
+        }
+        if (modCount != expected) {
+            throw new ConcurrentModificationException();
+        }
+    }
+
+    @Override
+    public Set<Map.Entry<String, JsonObject>> entrySet() {
+        return new AbstractSet<Map.Entry<String, JsonObject>>() {
+            @Override
+            public Iterator<Map.Entry<String, JsonObject>> iterator() {
+                return new EntryIterator();
+            }
+
+            @Override
+            public int size() {
+                return size;
+            }
+        };
+    }
+
+    // A frozen map's hash is worked out by JsonObject.hashCode, which does not recurse into nested objects
+    @Override
+    public int hashCode() {
+        if (!frozen) {
+            return super.hashCode();
+        }
+        int h = hash;
+        return h != 0 ? h : new JsonObject(this).hashCode();
+    }
+
+    // 0 until a frozen map's hash is known
+    int cachedHash() {
+        return hash;
+    }
+
+    void cacheHash(int hash) {
+        if (frozen) {
+            this.hash = hash;
+        }
+    }
+
+    String keyAt(int i) {
+        return keys[i];
+    }
+
+    JsonObject valueAt(int i) {
+        return values[i];
+    }
+
+    // Drops spare capacity once the map is fully built
+    public void trimToSize() {
+        if (keys.length != size) {
+            keys = size == 0 ? EMPTY_KEYS : Arrays.copyOf(keys, size);
+            values = size == 0 ? EMPTY_VALUES : Arrays.copyOf(values, size);
+        }
+    }
+
+    private int indexOf(Object key) {
+        if (index == null) {
+            for (int i = 0; i < size; ++i) {
+                if (keys[i] == key || keys[i].equals(key)) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+        if (key == null) {
+            return -1;
+        }
+        int mask = index.length - 1;
+        for (int slot = spread(key.hashCode()) & mask; ; slot = (slot + 1) & mask) {
+            int entry = index[slot];
+            if (entry == 0) {
+                return -1;
+            } else if (keys[entry - 1] == key || keys[entry - 1].equals(key)) {
+                return entry - 1;
+            }
+        }
+    }
+
+    private void removeAt(int i) {
+        checkMutable();
+        unshare();
+        System.arraycopy(keys, i + 1, keys, i, size - i - 1);
+        System.arraycopy(values, i + 1, values, i, size - i - 1);
+        size--;
+        keys[size] = null;
+        values[size] = null;
+        modCount++;
+        if (size > INDEX_THRESHOLD) {
+            buildIndex();
+        } else {
+            index = null;
+        }
+    }
+
+    private void checkMutable() {
+        if (frozen) {
+            throw new UnsupportedOperationException("Frozen JSON objects can not be modified.");
+        }
+    }
+
+    private void unshare() {
+        if (shared) {
+            keys = keys.clone();
+            index = index != null ? index.clone() : null;
+            shared = false;
+        }
+    }
+
+    private void buildIndex() {
+        index = buildIndex(keys, size);
+    }
+
+    private static int[] buildIndex(String[] keys, int size) {
+        // Load factor stays at or below one half
+        int[] index = new int[Integer.highestOneBit(Math.max(size, INDEX_THRESHOLD)) * 4];
+        for (int i = 0; i < size; ++i) {
+            insertIndex(index, keys, i);
+        }
+        return index;
+    }
+
+    private void insertIndex(int i) {
+        insertIndex(index, keys, i);
+    }
+
+    private static void insertIndex(int[] index, String[] keys, int i) {
+        int mask = index.length - 1;
+        int slot = spread(keys[i].hashCode()) & mask;
+        while (index[slot] != 0) {
+            slot = (slot + 1) & mask;
+        }
+        index[slot] = i + 1;
+    }
+
+    private static int spread(int hash) {
+        return hash ^ (hash >>> 16);
+    }
+
+    private class EntryIterator implements Iterator<Map.Entry<String, JsonObject>> {
+        private int cursor;
+        private int last = -1;
+        private int expected = modCount;
+
+        @Override
+        public boolean hasNext() {
+            return cursor < size;
+        }
+
+        @Override
+        public Map.Entry<String, JsonObject> next() {
+            if (modCount != expected) {
+                throw new ConcurrentModificationException();
+            }
+            if (cursor >= size) {
+                throw new NoSuchElementException();
+            }
+            last = cursor++;
+            return new Entry(last);
+        }
+
+        @Override
+        public void remove() {
+            if (last < 0) {
+                throw new IllegalStateException();
+            }
+            if (modCount != expected) {
+                throw new ConcurrentModificationException();
+            }
+            removeAt(last);
+            cursor = last;
+            last = -1;
+            expected = modCount;
+        }
+    }
+
+    private class Entry implements Map.Entry<String, JsonObject> {
+        private final int position;
+
+        Entry(int position) {
+            this.position = position;
+        }
+
+        @Override
+        public String getKey() {
+            return keys[position];
+        }
+
+        @Override
+        public JsonObject getValue() {
+            return values[position];
+        }
+
+        @Override
+        public JsonObject setValue(JsonObject value) {
+            checkMutable();
+            JsonObject previous = values[position];
+            values[position] = value;
+            return previous;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (!(obj instanceof Map.Entry)) {
+                return false;
+            }
+            Map.Entry<?, ?> other = (Map.Entry<?, ?>) obj;
+            return getKey().equals(other.getKey())
+                    && (getValue() == null ? other.getValue() == null : getValue().equals(other.getValue()));
+        }
+
+        @Override
+        public int hashCode() {
+            return getKey().hashCode() ^ (getValue() == null ? 0 : getValue().hashCode());
+        }
+
+        @Override
+        public String toString() {
+            return getKey() + "=" + getValue();
+        }
+    }
+}
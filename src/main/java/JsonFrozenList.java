@@ -0,0 +1,39 @@
+import java.util.AbstractList;
+import java.util.RandomAccess;
+
+// Array of a frozen JsonObject, see JsonObject.freeze. Every write is rejected by AbstractList,
+// and nothing changes after construction, so any number of threads may read it.
+class JsonFrozenList extends AbstractList<JsonObject> implements RandomAccess {
+    private final JsonObject[] elements;
+    // Worked out by JsonObject.hashCode on first use, 0 until then
+    private int hash;
+
+    JsonFrozenList(JsonObject[] elements) {
+        this.elements = elements;
+    }
+
+    @Override
+    public JsonObject get(int index) {
+        return elements[index];
+    }
+
+    @Override
+    public int size() {
+        return elements.length;
+    }
+
+    // Same value as the List contract asks for, without recursing into nested arrays
+    @Override
+    public int hashCode() {
+        int h = hash;
+        return h != 0 ? h : new JsonObject(this).hashCode();
+    }
+
+    int cachedHash() {
+        return hash;
+    }
+
+    void cacheHash(int hash) {
+        this.hash = hash;
+    }
+}
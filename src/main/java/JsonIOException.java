@@ -6,4 +6,12 @@ public class JsonIOException extends RuntimeException {
     public JsonIOException(String message) {
         super(message);
     }
+
+    public JsonIOException(String message, Throwable cause) {
+        super(message, cause);
+    }
+
+    protected JsonIOException(String message, Throwable cause, boolean enableSuppression, boolean writableStackTrace) {
+        super(message, cause, enableSuppression, writableStackTrace);
+    }
 }
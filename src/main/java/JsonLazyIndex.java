@@ -0,0 +1,266 @@
+import java.util.AbstractList;
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.BiConsumer;
+
+// Structural index built by one validating pass over the input.
+// Every value gets an entry of STRIDE ints in preorder: where its key starts (-1 outside objects),
+// where the value starts and which entry follows its subtree, so the children of a container
+// are found by hopping from entry + 1 without looking at their contents.
+class JsonLazyIndex {
+    private static final int STRIDE = 3;
+    private static final int KEY = 0;
+    private static final int VALUE = 1;
+    private static final int NEXT = 2;
+
+    private final String input;
+    private int[] tape = new int[STRIDE * 64];
+    private int size;
+    private final JsonParser parser = new JsonParser();
+
+    private JsonLazyIndex(String input) {
+        this.input = input;
+        parser.reset(input, 0);
+    }
+
+    static JsonObject create(String input) throws JsonObject.JsonParseException {
+        JsonLazyIndex lazy = new JsonLazyIndex(input);
+        lazy.scanValue(-1);
+        if (lazy.parser.position() != input.length()) {
+            throw new JsonObject.JsonParseException("Redundant component", lazy.parser.position());
+        }
+        return lazy.node(0);
+    }
+
+    private void scanValue(int keyStart) throws JsonObject.JsonParseException {
+        parser.skipWhitespace();
+        int entry = size;
+        if ((size + 1) * STRIDE > tape.length) {
+            tape = Arrays.copyOf(tape, tape.length * 2);
+        }
+        tape[entry * STRIDE + KEY] = keyStart;
+        tape[entry * STRIDE + VALUE] = parser.position();
+        size++;
+
+        switch (parser.current()) {
+            case 'n':
+            case 't':
+            case 'f':
+                // Shared constants, nothing is allocated
+                parser.parseValueBody();
+                break;
+            case '"':
+                parser.skipString();
+                break;
+            case '[':
+                scanList();
+                break;
+            case '{':
+                scanObject();
+                break;
+            default:
+                parser.scanNumber();
+        }
+
+        tape[entry * STRIDE + NEXT] = size;
+        parser.skipWhitespace();
+    }
+
+    private void scanList() throws JsonObject.JsonParseException {
+        parser.advance();
+        parser.skipWhitespace();
+        if (parser.current() != ']') {
+            while (true) {
+                scanValue(-1);
+                char c = parser.current();
+                if (c == ']') {
+                    break;
+                } else if (c == ',') {
+                    parser.advance();
+                } else {
+                    throw new JsonObject.JsonParseException("Missing comma in list", parser.position());
+                }
+            }
+        }
+        parser.advance();
+    }
+
+    private void scanObject() throws JsonObject.JsonParseException {
+        parser.advance();
+        parser.skipWhitespace();
+        if (parser.current() != '}') {
+            while (true) {
+                parser.skipWhitespace();
+                int keyStart = parser.position();
+                parser.skipString();
+                parser.skipWhitespace();
+                if (parser.current() != ':') {
+                    throw new JsonObject.JsonParseException("Missing colon in object", parser.position());
+                }
+                parser.advance();
+                scanValue(keyStart);
+                char c = parser.current();
+                if (c == '}') {
+                    break;
+                } else if (c == ',') {
+                    parser.advance();
+                } else {
+                    throw new JsonObject.JsonParseException("Missing comma in object", parser.position());
+                }
+            }
+        }
+        parser.advance();
+    }
+
+    private JsonObject node(int entry) {
+        int start = tape[entry * STRIDE + VALUE];
+        switch (input.charAt(start)) {
+            case '[':
+                return new JsonObject(new LazyList(this, entry));
+            case '{':
+                return new JsonObject(new LazyMap(this, entry));
+            default:
+                try {
+                    parser.reset(input, start);
+                    return parser.parseValueBody();
+                } catch (JsonObject.JsonParseException e) {
+                    // Already validated by the scan
+                    throw JsonSyntaxException.of(e, input, true);
+                }
+        }
+    }
+
+    private List<JsonObject> decodeList(int entry) {
+        List<JsonObject> list = new ArrayList<>();
+        for (int child = entry + 1; child < tape[entry * STRIDE + NEXT]; child = tape[child * STRIDE + NEXT]) {
+            list.add(node(child));
+        }
+        return list;
+    }
+
+    private Map<String, JsonObject> decodeObject(int entry) {
+        Map<String, JsonObject> map = new LinkedHashMap<>();
+        for (int child = entry + 1; child < tape[entry * STRIDE + NEXT]; child = tape[child * STRIDE + NEXT]) {
+            try {
+                parser.reset(input, tape[child * STRIDE + KEY]);
+                map.put(parser.parseString(null), node(child));
+            } catch (JsonObject.JsonParseException e) {
+                throw JsonSyntaxException.of(e, input, true);
+            }
+        }
+        return map;
+    }
+
+    // Decodes its children on first use, then behaves as the decoded ArrayList.
+    // Like the rest of JsonObject, not safe for concurrent use without external synchronization.
+    private static class LazyList extends AbstractList<JsonObject> {
+        private JsonLazyIndex source;
+        private final int entry;
+        private List<JsonObject> list;
+
+        LazyList(JsonLazyIndex source, int entry) {
+            this.source = source;
+            this.entry = entry;
+        }
+
+        private List<JsonObject> list() {
+            if (list == null) {
+                list = source.decodeList(entry);
+                source = null;
+            }
+            return list;
+        }
+
+        @Override
+        public JsonObject get(int index) {
+            return list().get(index);
+        }
+
+        @Override
+        public int size() {
+            return list().size();
+        }
+
+        @Override
+        public JsonObject set(int index, JsonObject element) {
+            return list().set(index, element);
+        }
+
+        @Override
+        public void add(int index, JsonObject element) {
+            modCount++;
+            list().add(index, element);
+        }
+
+        @Override
+        public JsonObject remove(int index) {
+            modCount++;
+            return list().remove(index);
+        }
+    }
+
+    // Decodes its children on first use, then behaves as the decoded LinkedHashMap.
+    private static class LazyMap extends AbstractMap<String, JsonObject> {
+        private JsonLazyIndex source;
+        private final int entry;
+        private Map<String, JsonObject> map;
+
+        LazyMap(JsonLazyIndex source, int entry) {
+            this.source = source;
+            this.entry = entry;
+        }
+
+        private Map<String, JsonObject> map() {
+            if (map == null) {
+                map = source.decodeObject(entry);
+                source = null;
+            }
+            return map;
+        }
+
+        @Override
+        public int size() {
+            return map().size();
+        }
+
+        @Override
+        public boolean containsKey(Object key) {
+            return map().containsKey(key);
+        }
+
+        @Override
+        public JsonObject get(Object key) {
+            return map().get(key);
+        }
+
+        @Override
+        public JsonObject put(String key, JsonObject value) {
+            return map().put(key, value);
+        }
+
+        @Override
+        public JsonObject remove(Object key) {
+            return map().remove(key);
+        }
+
+        @Override
+        public void clear() {
+            map().clear();
+        }
+
+        @Override
+        public void forEach(BiConsumer<? super String, ? super JsonObject> action) {
+            map().forEach(action);
+        }
+
+        @Override
+        public Set<Entry<String, JsonObject>> entrySet() {
+            return map().entrySet();
+        }
+    }
+}
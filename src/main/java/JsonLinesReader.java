@@ -0,0 +1,62 @@
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+// Iterates the records of newline delimited JSON, one value per line.
+// All records go through one JsonReader, so its buffer, scratch space and symbol table are reused.
+public class JsonLinesReader implements Iterator<JsonObject>, Closeable {
+    private final JsonReader reader;
+    private boolean peeked;
+
+    public JsonLinesReader(Reader input) {
+        this(new JsonReader(input));
+    }
+
+    // UTF-8
+    public JsonLinesReader(InputStream input) {
+        this(new JsonReader(input));
+    }
+
+    // UTF-8 file, memory mapped
+    public JsonLinesReader(Path path) {
+        this(new JsonReader(path));
+    }
+
+    private JsonLinesReader(JsonReader reader) {
+        this.reader = reader;
+        reader.setLineDelimited(true);
+        // Records of one stream nearly always share their keys
+        reader.setSymbolTable(new JsonSymbolTable());
+    }
+
+    public void setSymbolTable(JsonSymbolTable symbols) {
+        reader.setSymbolTable(symbols);
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (!peeked) {
+            reader.next();
+            peeked = true;
+        }
+        return reader.getToken() != JsonToken.EndDocument;
+    }
+
+    @Override
+    public JsonObject next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        peeked = false;
+        return reader.readTree();
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+}
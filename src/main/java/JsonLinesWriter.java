@@ -0,0 +1,38 @@
+import java.io.Closeable;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Writer;
+
+// Writes newline delimited JSON, one value per line.
+// Records are serialized straight into one shared buffer, the sink is only flushed by flush and close.
+public class JsonLinesWriter implements Flushable, Closeable {
+    private final JsonWriter writer;
+    private final Closeable sink;
+
+    public JsonLinesWriter(Writer writer) {
+        this.writer = new JsonWriter(writer);
+        this.sink = writer;
+    }
+
+    // UTF-8
+    public JsonLinesWriter(OutputStream output) {
+        this.writer = new JsonWriter(output);
+        this.sink = output;
+    }
+
+    public void write(JsonObject value) {
+        writer.writeLine(value);
+    }
+
+    @Override
+    public void flush() {
+        writer.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        flush();
+        sink.close();
+    }
+}
@@ -1,67 +1,276 @@
 import java.math.BigDecimal;
 
 public class JsonNumber extends Number {
-    private final String value;
+    // The value is exactly longValue.
+    private static final byte LONG = 0;
+    // The integer part of the value is exactly the integer part of doubleValue.
+    private static final byte DOUBLE = 1;
+    // Only the text is exact, doubleValue is the nearest double.
+    private static final byte DECIMAL = 2;
+
+    // Decimals with at most this many significant digits convert exactly through double
+    private static final int MAX_DOUBLE_DIGITS = 15;
+    private static final double[] POWERS_OF_TEN = {
+            1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10,
+            1e11, 1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22,
+    };
+
+    // Small integers are shared, they are by far the most common numbers in documents
+    static final int CACHE_LOW = -128;
+    static final int CACHE_HIGH = 1023;
+    private static final JsonNumber[] CACHE = new JsonNumber[CACHE_HIGH - CACHE_LOW + 1];
+
+    static {
+        for (int i = 0; i < CACHE.length; ++i) {
+            CACHE[i] = new JsonNumber(LONG, CACHE_LOW + i, CACHE_LOW + i, null);
+        }
+    }
+
+    private final byte kind;
+    private final long longValue;
+    private final double doubleValue;
+    // Kept when the value can not be printed back from the primitives, otherwise rendered on first use
+    private String text;
 
     public JsonNumber(String value) {
-        this.value = value;
+        this(parse(value, 0, value.length()));
+    }
+
+    public JsonNumber(long value) {
+        this(LONG, value, value, null);
+    }
+
+    public JsonNumber(double value) {
+        this(DOUBLE, (long) value, value, null);
     }
 
     public JsonNumber(JsonNumber that) {
-        this.value = that.value;
+        this(that.kind, that.longValue, that.doubleValue, that.text);
+    }
+
+    private JsonNumber(byte kind, long longValue, double doubleValue, String text) {
+        this.kind = kind;
+        this.longValue = longValue;
+        this.doubleValue = doubleValue;
+        this.text = text;
+    }
+
+    public static JsonNumber valueOf(long value) {
+        if (value >= CACHE_LOW && value <= CACHE_HIGH) {
+            return CACHE[(int) value - CACHE_LOW];
+        }
+        return new JsonNumber(value);
+    }
+
+    boolean isCached() {
+        return kind == LONG && longValue >= CACHE_LOW && longValue <= CACHE_HIGH
+                && CACHE[(int) longValue - CACHE_LOW] == this;
+    }
+
+    // Parses a JSON number occupying input[start, end).
+    static JsonNumber parse(CharSequence input, int start, int end) {
+        int index = start;
+        boolean negative = index < end && input.charAt(index) == '-';
+        if (negative) {
+            index++;
+        }
+
+        // Accumulated negatively to cover Long.MIN_VALUE
+        long limit = negative ? Long.MIN_VALUE : -Long.MAX_VALUE;
+        long integer = 0;
+        boolean overflow = false;
+        int integerStart = index;
+        while (index < end && isDigit(input.charAt(index))) {
+            int digit = input.charAt(index++) - '0';
+            if (integer < limit / 10 || integer * 10 < limit + digit) {
+                overflow = true;
+            } else {
+                integer = integer * 10 - digit;
+            }
+        }
+        int integerDigits = index - integerStart;
+        if (integerDigits == 0) {
+            throw invalid(input, start, end);
+        }
+
+        if (index == end) {
+            if (overflow) {
+                String text = input.subSequence(start, end).toString();
+                return new JsonNumber(DECIMAL, 0, Double.parseDouble(text), text);
+            }
+            long value = negative ? integer : -integer;
+            // Leading zeros and negative zero have to be printed as written
+            boolean canonical = input.charAt(integerStart) != '0' || (integerDigits == 1 && !negative);
+            if (canonical && value >= CACHE_LOW && value <= CACHE_HIGH) {
+                return CACHE[(int) value - CACHE_LOW];
+            }
+            return new JsonNumber(LONG, value, value == 0 && negative ? -0.0 : value,
+                    canonical ? null : input.subSequence(start, end).toString());
+        }
+
+        // Decimal, the mantissa is rebuilt from all digits with leading zeros skipped
+        long mantissa = 0;
+        int significantDigits = 0;
+        int fractionDigits = 0;
+        for (int i = integerStart; i < integerStart + integerDigits; ++i) {
+            int digit = input.charAt(i) - '0';
+            if (significantDigits > 0 || digit != 0) {
+                significantDigits++;
+                if (significantDigits <= MAX_DOUBLE_DIGITS) {
+                    mantissa = mantissa * 10 + digit;
+                }
+            }
+        }
+        if (input.charAt(index) == '.') {
+            index++;
+            while (index < end && isDigit(input.charAt(index))) {
+                int digit = input.charAt(index++) - '0';
+                fractionDigits++;
+                if (significantDigits > 0 || digit != 0) {
+                    significantDigits++;
+                    if (significantDigits <= MAX_DOUBLE_DIGITS) {
+                        mantissa = mantissa * 10 + digit;
+                    }
+                }
+            }
+            if (fractionDigits == 0) {
+                throw invalid(input, start, end);
+            }
+        }
+        long exponent = 0;
+        if (index < end && (input.charAt(index) == 'e' || input.charAt(index) == 'E')) {
+            index++;
+            boolean negativeExponent = index < end && input.charAt(index) == '-';
+            if (index < end && (input.charAt(index) == '-' || input.charAt(index) == '+')) {
+                index++;
+            }
+            int exponentStart = index;
+            while (index < end && isDigit(input.charAt(index))) {
+                // Saturates, anything this large is out of double range anyway
+                exponent = Math.min(exponent * 10 + input.charAt(index++) - '0', Integer.MAX_VALUE);
+            }
+            if (index == exponentStart) {
+                throw invalid(input, start, end);
+            }
+            if (negativeExponent) {
+                exponent = -exponent;
+            }
+        }
+        if (index != end) {
+            throw invalid(input, start, end);
+        }
+
+        String text = input.subSequence(start, end).toString();
+        if (significantDigits > MAX_DOUBLE_DIGITS) {
+            return new JsonNumber(DECIMAL, 0, Double.parseDouble(text), text);
+        }
+        long scale = exponent - fractionDigits;
+        double value;
+        if (mantissa == 0) {
+            value = negative ? -0.0 : 0.0;
+        } else if (scale >= 0 && scale < POWERS_OF_TEN.length) {
+            value = mantissa * POWERS_OF_TEN[(int) scale];
+            value = negative ? -value : value;
+        } else if (scale < 0 && -scale < POWERS_OF_TEN.length) {
+            value = mantissa / POWERS_OF_TEN[(int) -scale];
+            value = negative ? -value : value;
+        } else {
+            value = Double.parseDouble(text);
+        }
+        // Past 2^53 the double may no longer hold the integer part exactly. A nonzero value that underflowed
+        // to zero or a subnormal lost digits, so different decimals could share its double.
+        boolean exact = Math.abs(value) < 0x1p53 && (mantissa == 0 || Math.abs(value) >= Double.MIN_NORMAL);
+        return new JsonNumber(exact ? DOUBLE : DECIMAL, (long) value, value, text);
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    private static NumberFormatException invalid(CharSequence input, int start, int end) {
+        return new NumberFormatException(String.format("Invalid JSON number \"%s\".", input.subSequence(start, end)));
     }
 
     @Override
     public int intValue() {
-        try {
-            return Integer.parseInt(value);
-        } catch (NumberFormatException e) {
-            try {
-                return (int) Long.parseLong(value);
-            } catch (NumberFormatException nfe) {
-                return new BigDecimal(value).intValue();
-            }
+        if (isLongExact()) {
+            return (int) longValue;
         }
+        return new BigDecimal(toString()).intValue();
     }
 
     @Override
     public long longValue() {
-        try {
-            return Long.parseLong(value);
-        } catch (NumberFormatException e) {
-            return new BigDecimal(value).longValue();
+        if (isLongExact()) {
+            return longValue;
         }
+        return new BigDecimal(toString()).longValue();
+    }
+
+    private boolean isLongExact() {
+        return kind == LONG || (kind == DOUBLE && Math.abs(doubleValue) < 0x1p63);
     }
 
     @Override
     public float floatValue() {
-        return Float.parseFloat(value);
+        // Straight from long to avoid rounding twice, zero goes through double to keep its sign
+        return kind == LONG && longValue != 0 ? (float) longValue : (float) doubleValue;
     }
 
     @Override
     public double doubleValue() {
-        return Double.parseDouble(value);
+        return doubleValue;
     }
 
     @Override
     public String toString() {
-        return value;
+        if (text == null) {
+            text = kind == LONG ? Long.toString(longValue) : Double.toString(doubleValue);
+        }
+        return text;
     }
 
+    // Equal numbers round to the same nearest double, so this agrees with equals
     @Override
     public int hashCode() {
-        return value.hashCode();
+        return doubleValue == 0 ? 0 : Double.hashCode(doubleValue);
     }
 
+    // By value, as written in JSON: 1, 1.0, 10e-1 and 1E0 are all equal
     @Override
     public boolean equals(Object obj) {
         if (this == obj) {
             return true;
         }
-        if (obj instanceof JsonNumber) {
-            JsonNumber other = (JsonNumber) obj;
-            return value.equals(other.value);
+        if (!(obj instanceof JsonNumber)) {
+            return false;
+        }
+        JsonNumber other = (JsonNumber) obj;
+        if (kind == LONG && other.kind == LONG) {
+            return longValue == other.longValue;
         }
-        return false;
+        if (isDoubleExact() && other.isDoubleExact()) {
+            // NaN and infinities from the double constructor equal themselves, as Double.equals has them
+            return doubleValue == other.doubleValue || (doubleValue != doubleValue && other.doubleValue != other.doubleValue);
+        }
+        // Equal values round to the same double, so most unequal numbers stop here
+        if (doubleValue != other.doubleValue) {
+            return false;
+        }
+        // Only a DECIMAL past the double range has no double, its text is still a valid decimal
+        if (kind != DECIMAL && !Double.isFinite(doubleValue) || other.kind != DECIMAL && !Double.isFinite(other.doubleValue)) {
+            return false;
+        }
+        if (toString().equals(other.toString())) {
+            return true;
+        }
+        return new BigDecimal(toString()).compareTo(new BigDecimal(other.toString())) == 0;
+    }
+
+    // Two such numbers have the same value exactly when their doubles are equal. A DOUBLE was either
+    // given as a double or written with at most MAX_DOUBLE_DIGITS digits in the normal double range,
+    // no two of which share a double.
+    private boolean isDoubleExact() {
+        return kind == DOUBLE || (kind == LONG && longValue >= -(1L << 53) && longValue <= 1L << 53);
     }
 }
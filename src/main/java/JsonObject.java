@@ -1,51 +1,54 @@
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
 
 @SuppressWarnings({"DuplicateBranchesInSwitch", "unused"})
 public class JsonObject {
-    private static class Index {
-        private int value;
-        private final int length;
-
-        public Index(int value, int length) {
-            this.value = value;
-            this.length = length;
+    // Internal and thrown without a stack trace, callers turn it into a JsonSyntaxException against the source
+    static class JsonParseException extends Exception {
+        final String errorType;
+        final int position;
+        // The input ended before the value did
+        final boolean overflow;
+
+        public JsonParseException(String errorType, int position) {
+            this(errorType, position, false);
         }
 
-        public int get() {
-            return value;
+        private JsonParseException(String errorType, int position, boolean overflow) {
+            super(errorType, null, false, false);
+            this.errorType = errorType;
+            this.position = position;
+            this.overflow = overflow;
         }
 
-        public int saveGet() throws JsonParseException {
-            if (value >= length) {
-                throw new JsonParseException("Parse Error - Index overflow.");
-            } else {
-                return value;
-            }
-        }
-
-        public void increment() throws JsonParseException {
-            plus(1);
-        }
-
-        public void plus(int addend) throws JsonParseException {
-            if (value + addend > length) {
-                throw new JsonParseException("Parse Error - Index overflow.");
-            } else {
-                value += addend;
-            }
+        static JsonParseException overflow(int position) {
+            return new JsonParseException("Index overflow", position, true);
         }
     }
 
-    private static class JsonParseException extends Exception {
-        public JsonParseException() {
-            super();
-        }
+    // Leaves are immutable, so these can be shared by any number of trees and threads.
+    // Containers hold references to their children, add/put never write into a child.
+    public static final JsonObject NULL = new JsonObject(JsonType.Null, null);
+    public static final JsonObject TRUE = new JsonObject(JsonType.Boolean, true);
+    public static final JsonObject FALSE = new JsonObject(JsonType.Boolean, false);
+    private static final JsonObject[] SMALL_INTEGERS = new JsonObject[JsonNumber.CACHE_HIGH - JsonNumber.CACHE_LOW + 1];
 
-        public JsonParseException(String message) {
-            super(message);
+    static {
+        for (int i = 0; i < SMALL_INTEGERS.length; ++i) {
+            SMALL_INTEGERS[i] = new JsonObject(JsonType.Number, JsonNumber.valueOf(JsonNumber.CACHE_LOW + i));
         }
     }
 
@@ -63,11 +66,11 @@ public class JsonObject {
     }
 
     public JsonObject(int value) {
-        this(new JsonNumber(String.valueOf(value)));
+        this(new JsonNumber(value));
     }
 
     public JsonObject(long value) {
-        this(new JsonNumber(String.valueOf(value)));
+        this(new JsonNumber(value));
     }
 
     public JsonObject(float value) {
@@ -75,7 +78,7 @@ public class JsonObject {
     }
 
     public JsonObject(double value) {
-        this(new JsonNumber(String.valueOf(value)));
+        this(new JsonNumber(value));
     }
 
     public JsonObject(JsonNumber value) {
@@ -125,31 +128,210 @@ public class JsonObject {
         }
     }
 
-    public static JsonObject create(String input) {
+    public static JsonObject valueOf(boolean value) {
+        return value ? TRUE : FALSE;
+    }
+
+    public static JsonObject valueOf(long value) {
+        if (value >= JsonNumber.CACHE_LOW && value <= JsonNumber.CACHE_HIGH) {
+            return SMALL_INTEGERS[(int) value - JsonNumber.CACHE_LOW];
+        }
+        return new JsonObject(JsonType.Number, new JsonNumber(value));
+    }
+
+    public static JsonObject valueOf(double value) {
+        return new JsonObject(JsonType.Number, new JsonNumber(value));
+    }
+
+    public static JsonObject valueOf(JsonNumber value) {
+        if (value.isCached()) {
+            return SMALL_INTEGERS[value.intValue() - JsonNumber.CACHE_LOW];
+        }
+        return new JsonObject(JsonType.Number, value);
+    }
+
+    // Validates the whole input in one pass but only records where values start,
+    // objects and arrays decode their direct children the first time they are accessed.
+    public static JsonObject createLazy(String input) {
         try {
-            Index index = new Index(0, input.length());
-            JsonObject result = parseValue(input, index);
-            if (index.get() == input.length()) {
-                return result;
-            } else {
-                throw new JsonParseException(buildErrorMessage("Redundant component", input, index.get()));
-            }
+            return JsonLazyIndex.create(input);
         } catch (JsonParseException e) {
-            throw new JsonIOException(e.getMessage());
+            throw JsonSyntaxException.of(e, input, true);
+        }
+    }
+
+    // Parsed by the calling thread's JsonParser, so its scratch buffer is reused rather than reallocated
+    public static JsonObject create(String input) {
+        return JsonParser.local(null, false).parse(input);
+    }
+
+    // Object keys are canonicalized through symbols, which may be shared between threads and documents
+    public static JsonObject create(String input, JsonSymbolTable symbols) {
+        return JsonParser.local(symbols, false).parse(input);
+    }
+
+    // Objects are stored as key and value arrays and lists are trimmed to size, for trees that are kept around
+    public static JsonObject createCompact(String input) {
+        return createCompact(input, null);
+    }
+
+    public static JsonObject createCompact(String input, JsonSymbolTable symbols) {
+        return JsonParser.local(symbols, true).parse(input);
+    }
+
+    // Binds straight from the input to a new instance of type, without building the tree first
+    public static <T> T create(String input, Class<T> type) {
+        return JsonParser.local(null, false).parse(input, type);
+    }
+
+    // Decoded by the specialized path of shape, see JsonShape
+    public static JsonObject create(String input, JsonShape shape) {
+        return shape.parse(input);
+    }
+
+    // Rejects malformed input without throwing, so validating untrusted input stays cheap
+    public static JsonParseResult tryCreate(String input) {
+        return JsonParser.local(null, false).tryParse(input);
+    }
+
+    // UTF-8 input, decoded in one bulk pass and parsed as a String. Decoding is a small part of the cost,
+    // a parser working on the bytes directly measured no faster.
+    public static JsonObject create(byte[] input) {
+        return create(input, 0, input.length, null);
+    }
+
+    public static JsonObject create(byte[] input, JsonSymbolTable symbols) {
+        return create(input, 0, input.length, symbols);
+    }
+
+    public static JsonObject create(byte[] input, int offset, int length, JsonSymbolTable symbols) {
+        if (offset < 0 || length < 0 || offset > input.length - length) {
+            throw new IndexOutOfBoundsException(String.format("Range [%d, %d) out of bounds for length %d.",
+                    offset, offset + length, input.length));
+        }
+        return JsonParser.local(symbols, false).parse(new String(input, offset, length, StandardCharsets.UTF_8));
+    }
+
+    // Elements of a top-level array, split at element boundaries and parsed on pool, in their original order
+    public static List<JsonObject> createParallel(String input) {
+        return createParallel(input, ForkJoinPool.commonPool());
+    }
+
+    public static List<JsonObject> createParallel(String input, ForkJoinPool pool) {
+        return JsonParallelParser.parseArray(input, pool);
+    }
+
+    // Newline delimited JSON, one record per non blank line
+    public static List<JsonObject> createLinesParallel(String input) {
+        return createLinesParallel(input, ForkJoinPool.commonPool());
+    }
+
+    public static List<JsonObject> createLinesParallel(String input, ForkJoinPool pool) {
+        return JsonParallelParser.parseLines(input, pool);
+    }
+
+    // Read and parsed a segment of lines at a time, for inputs too large to be held as one String
+    public static List<JsonObject> createLinesParallel(Reader input) {
+        return createLinesParallel(input, ForkJoinPool.commonPool());
+    }
+
+    public static List<JsonObject> createLinesParallel(Reader input, ForkJoinPool pool) {
+        return JsonParallelParser.parseLines(input, pool);
+    }
+
+    public static JsonObject create(Reader input) {
+        return create(new JsonReader(input));
+    }
+
+    public static JsonObject create(InputStream input) {
+        return create(new JsonReader(input));
+    }
+
+    public static JsonObject create(ByteBuffer input) {
+        return create(new JsonReader(input));
+    }
+
+    // UTF-8 file, memory mapped so its text never has to be held on the heap as a whole.
+    // Use a JsonReader on the path to stream through documents too large for their tree.
+    public static JsonObject create(Path path) {
+        try (JsonReader reader = new JsonReader(path)) {
+            return create(reader);
+        } catch (IOException e) {
+            throw new JsonIOException("Read Error - " + e.getMessage(), e);
         }
     }
 
+    private static JsonObject create(JsonReader reader) {
+        reader.next();
+        JsonObject result = reader.readTree();
+        reader.next();
+        return result;
+    }
+
+    // Serialized in the calling thread's JsonWriter buffer, the returned String is the only allocation
     @Override
     public String toString() {
-        return toStringBuilder().toString();
+        JsonWriter writer = JsonWriter.acquire();
+        try {
+            return writer.writeToString(this);
+        } finally {
+            writer.release();
+        }
     }
 
     public StringBuilder toStringBuilder() {
         StringBuilder sb = new StringBuilder();
-        appendWithThis(sb);
+        JsonWriter writer = JsonWriter.acquire();
+        try {
+            writer.appendTo(this, sb);
+        } finally {
+            writer.release();
+        }
         return sb;
     }
 
+    public void writeTo(Writer writer) {
+        JsonWriter jsonWriter = JsonWriter.acquire();
+        try {
+            jsonWriter.reset(writer);
+            jsonWriter.write(this);
+        } finally {
+            jsonWriter.release();
+        }
+    }
+
+    // UTF-8
+    public void writeTo(OutputStream output) {
+        JsonWriter jsonWriter = JsonWriter.acquire();
+        try {
+            jsonWriter.reset(output);
+            jsonWriter.write(this);
+        } finally {
+            jsonWriter.release();
+        }
+    }
+
+    // Converts values of a Java type to and from trees, see JsonCodec for what can be bound.
+    // The conversion for each class is worked out once and cached.
+    @SuppressWarnings("unchecked")
+    public <T> T bind(Class<T> type) {
+        return (T) JsonCodec.of(type).decode(this);
+    }
+
+    public static JsonObject from(Object value) {
+        return JsonCodec.encodeAny(value);
+    }
+
+    // Same text as from(value).toString(), written as the value is walked instead of through its tree
+    public static String stringify(Object value) {
+        JsonWriter writer = JsonWriter.acquire();
+        try {
+            return writer.writeBoundToString(value);
+        } finally {
+            writer.release();
+        }
+    }
+
     public JsonType getJsonType() {
         return jsonType;
     }
@@ -228,6 +410,11 @@ public class JsonObject {
         return getObject().get(index);
     }
 
+    // The value at a compiled pointer or path, or null when there is none
+    public JsonObject get(JsonPath path) {
+        return path.find(this);
+    }
+
     public void add(JsonObject value) {
         getList().add(value);
     }
@@ -236,385 +423,320 @@ public class JsonObject {
         getObject().put(key, value);
     }
 
-    private JsonObject(JsonType jsonType, Object object) {
-        this.jsonType = jsonType;
-        this.object = object;
+    // Deeply immutable copy of the tree, safe to publish to any number of threads without copying or locking.
+    // Containers become trimmed arrays that cache their hash code, any write through add/put, getList or getObject
+    // throws UnsupportedOperationException. Leaves and already frozen subtrees are shared instead of copied.
+    public JsonObject freeze() {
+        if (isFrozen()) {
+            return this;
+        }
+        // Post-order on an explicit stack, a container is built once all of its children are frozen
+        ArrayDeque<FreezeFrame> pending = new ArrayDeque<>();
+        pending.push(new FreezeFrame(this));
+        JsonObject frozen = null;
+        while (true) {
+            FreezeFrame frame = pending.peek();
+            JsonObject[] values = frame.values;
+            if (frozen != null) {
+                values[frame.next++] = frozen;
+                frozen = null;
+            }
+            while (frame.next < values.length && (values[frame.next] == null || values[frame.next].isFrozen())) {
+                frame.next++;
+            }
+            if (frame.next < values.length) {
+                pending.push(new FreezeFrame(values[frame.next]));
+                continue;
+            }
+            pending.pop();
+            frozen = frame.build();
+            if (pending.isEmpty()) {
+                return frozen;
+            }
+        }
     }
 
-    private static JsonObject parseValue(String input, Index index) throws JsonParseException {
-        readWhitespace(input, index);
-        JsonObject result = parseValueBody(input, index);
-        readWhitespace(input, index);
-        return result;
+    // Leaves never change, containers only once frozen
+    public boolean isFrozen() {
+        switch (jsonType) {
+            case Array:
+                return object instanceof JsonFrozenList;
+            case Object:
+                return object instanceof JsonCompactMap && ((JsonCompactMap) object).isFrozen();
+            default:
+                return true;
+        }
     }
 
-    private static void readWhitespace(String input, Index index) throws JsonParseException {
-        if (index.get() == input.length()) { return; }
-        while (input.charAt(index.saveGet()) == ' ' ||
-                input.charAt(index.saveGet()) == '\n' ||
-                input.charAt(index.saveGet()) == '\r' ||
-                input.charAt(index.saveGet()) == '\t') {
-            index.increment();
-            if (index.get() == input.length()) { return; }
-        }
-    }
-
-    private static JsonObject parseValueBody(String input, Index index) throws JsonParseException {
-        switch (input.charAt(index.saveGet())) {
-            case 'n':
-                return new JsonObject(JsonType.Null, parseNull(input, index));
-            case 't':
-                return new JsonObject(JsonType.Boolean, parseBoolean(input, index));
-            case 'f':
-                return new JsonObject(JsonType.Boolean, parseBoolean(input, index));
-            case '-':
-                return new JsonObject(JsonType.Number, parseNumber(input, index));
-            case '"':
-                return new JsonObject(JsonType.String, parseString(input, index));
-            case '[':
-                return new JsonObject(JsonType.Array, parseList(input, index));
-            case '{':
-                return new JsonObject(JsonType.Object, parseObject(input, index));
-            default:
-                if (input.charAt(index.saveGet()) >= '0' && input.charAt(index.saveGet()) <= '9') {
-                    return new JsonObject(JsonType.Number, parseNumber(input, index));
-                } else {
-                    throw new JsonParseException(buildErrorMessage("Read type error", input, index.get()));
+    // Copies every container of the tree into new mutable storage, leaves are immutable and shared.
+    // Compact objects stay compact, frozen ones become writable. Walks an explicit stack, so depth is not limited.
+    public JsonObject deepCopy() {
+        JsonObject root = emptyCopy();
+        ArrayDeque<JsonObject> pending = new ArrayDeque<>();
+        if (root != this) {
+            pending.push(this);
+            pending.push(root);
+        }
+        while (!pending.isEmpty()) {
+            JsonObject copy = pending.pop();
+            JsonObject source = pending.pop();
+            if (source.jsonType == JsonType.Array) {
+                List<JsonObject> list = copy.getList();
+                for (JsonObject element : source.getList()) {
+                    JsonObject child = element == null ? null : element.emptyCopy();
+                    if (child != element) {
+                        pending.push(element);
+                        pending.push(child);
+                    }
+                    list.add(child);
+                }
+            } else {
+                Map<String, JsonObject> map = copy.getObject();
+                for (Map.Entry<String, JsonObject> entry : source.getObject().entrySet()) {
+                    JsonObject value = entry.getValue();
+                    JsonObject child = value == null ? null : value.emptyCopy();
+                    if (child != value) {
+                        pending.push(value);
+                        pending.push(child);
+                    }
+                    map.put(entry.getKey(), child);
                 }
+            }
         }
+        return root;
     }
 
-    private static Object parseNull(String input, Index index) throws JsonParseException {
-        if (input.charAt(index.saveGet()) != 'n') throw new JsonParseException(
-                buildErrorMessage("Invalid null node", input, index.get()));
-        index.increment();
-        if (input.charAt(index.saveGet()) != 'u') throw new JsonParseException(
-                buildErrorMessage("Invalid null node", input, index.get()));
-        index.increment();
-        if (input.charAt(index.saveGet()) != 'l') throw new JsonParseException(
-                buildErrorMessage("Invalid null node", input, index.get()));
-        index.increment();
-        if (input.charAt(index.saveGet()) != 'l') throw new JsonParseException(
-                buildErrorMessage("Invalid null node", input, index.get()));
-        index.increment();
-        return null;
-    }
-
-    private static boolean parseBoolean(String input, Index index) throws JsonParseException {
-        boolean result = input.charAt(index.saveGet()) == 't';
-        if (result) {
-            if (input.charAt(index.saveGet()) != 't') throw new JsonParseException(
-                    buildErrorMessage("Invalid true node", input, index.get()));
-            index.increment();
-            if (input.charAt(index.saveGet()) != 'r') throw new JsonParseException(
-                    buildErrorMessage("Invalid true node", input, index.get()));
-            index.increment();
-            if (input.charAt(index.saveGet()) != 'u') throw new JsonParseException(
-                    buildErrorMessage("Invalid true node", input, index.get()));
-            index.increment();
-            if (input.charAt(index.saveGet()) != 'e') throw new JsonParseException(
-                    buildErrorMessage("Invalid true node", input, index.get()));
-        } else {
-            if (input.charAt(index.saveGet()) != 'f') throw new JsonParseException(
-                    buildErrorMessage("Invalid false node", input, index.get()));
-            index.increment();
-            if (input.charAt(index.saveGet()) != 'a') throw new JsonParseException(
-                    buildErrorMessage("Invalid false node", input, index.get()));
-            index.increment();
-            if (input.charAt(index.saveGet()) != 'l') throw new JsonParseException(
-                    buildErrorMessage("Invalid false node", input, index.get()));
-            index.increment();
-            if (input.charAt(index.saveGet()) != 's') throw new JsonParseException(
-                    buildErrorMessage("Invalid false node", input, index.get()));
-            index.increment();
-            if (input.charAt(index.saveGet()) != 'e') throw new JsonParseException(
-                    buildErrorMessage("Invalid false node", input, index.get()));
-        }
-        index.increment();
-        return result;
+    // A container of the same kind to copy the children into, or this for a leaf
+    private JsonObject emptyCopy() {
+        switch (jsonType) {
+            case Array:
+                return new JsonObject(JsonType.Array, new ArrayList<>(getList().size()));
+            case Object:
+                return new JsonObject(JsonType.Object, object instanceof JsonCompactMap
+                        ? new JsonCompactMap() : new LinkedHashMap<>(getObject().size() * 4 / 3 + 1));
+            default:
+                return this;
+        }
     }
 
-    private static JsonNumber parseNumber(String input, Index index) throws JsonParseException {
-        int startIndex = index.get();
-        int currentIndex = startIndex;
-
-        StringBuilder sb = new StringBuilder();
-
-        // Integer Part
-        // Leading zeros are allowed
-        if (input.charAt(currentIndex) == '-') {
-            sb.append(input.charAt(currentIndex++));
+    // Same JSON value: arrays equal in order, objects with equal values under the same keys in any order,
+    // numbers by value as JsonNumber.equals. Gives up at the first node whose type or size differs,
+    // and walks an explicit stack, so depth is not limited.
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
         }
-
-        if (currentIndex < input.length()
-                && input.charAt(currentIndex) >= '0'
-                && input.charAt(currentIndex) <= '9') {
-            while (currentIndex < input.length()
-                    && input.charAt(currentIndex) >= '0'
-                    && input.charAt(currentIndex) <= '9') {
-                sb.append(input.charAt(currentIndex++));
-            }
-        } else {
-            throw new JsonParseException(buildErrorMessage("Incomplete number", input, currentIndex));
-        }
-
-        // Fraction Part
-        if (currentIndex < input.length()
-                && input.charAt(currentIndex) == '.') {
-            sb.append(input.charAt(currentIndex++));
-            if (currentIndex < input.length()
-                    && input.charAt(currentIndex) >= '0'
-                    && input.charAt(currentIndex) <= '9') {
-                while (currentIndex < input.length()
-                        && input.charAt(currentIndex) >= '0'
-                        && input.charAt(currentIndex) <= '9') {
-                    sb.append(input.charAt(currentIndex++));
+        if (!(obj instanceof JsonObject) || !shallowEquals(this, (JsonObject) obj)) {
+            return false;
+        }
+        ArrayDeque<JsonObject> pending = new ArrayDeque<>();
+        pushChildren(pending, this, (JsonObject) obj);
+        while (!pending.isEmpty()) {
+            JsonObject b = pending.pop();
+            JsonObject a = pending.pop();
+            if (a.jsonType == JsonType.Array) {
+                Iterator<JsonObject> other = b.getList().iterator();
+                for (JsonObject element : a.getList()) {
+                    JsonObject otherElement = other.next();
+                    if (element != otherElement) {
+                        if (!shallowEquals(element, otherElement)) {
+                            return false;
+                        }
+                        pushChildren(pending, element, otherElement);
+                    }
                 }
             } else {
-                throw new JsonParseException(buildErrorMessage("Incomplete fraction", input, currentIndex));
+                // Keys usually come in the same order, then no lookup is needed
+                Map<String, JsonObject> otherMap = b.getObject();
+                Iterator<Map.Entry<String, JsonObject>> others = otherMap.entrySet().iterator();
+                for (Map.Entry<String, JsonObject> entry : a.getObject().entrySet()) {
+                    JsonObject value = entry.getValue();
+                    Map.Entry<String, JsonObject> other = others.next();
+                    JsonObject otherValue = other.getKey().equals(entry.getKey()) ? other.getValue() : otherMap.get(entry.getKey());
+                    if (otherValue == null && !otherMap.containsKey(entry.getKey())) {
+                        return false;
+                    }
+                    if (value != otherValue) {
+                        if (!shallowEquals(value, otherValue)) {
+                            return false;
+                        }
+                        pushChildren(pending, value, otherValue);
+                    }
+                }
             }
         }
+        return true;
+    }
 
-        // Exponent Part
-        if (currentIndex < input.length()
-                && (input.charAt(currentIndex) == 'e' || input.charAt(currentIndex) == 'E')) {
-            sb.append(input.charAt(currentIndex++));
-            if (input.charAt(currentIndex) == '+') {
-                sb.append(input.charAt(currentIndex++));
-            } else if (input.charAt(currentIndex) == '-') {
-                sb.append(input.charAt(currentIndex++));
+    // Type, leaf value and container size, children are compared by the caller.
+    // Frozen containers already know their hash, which tells most unequal ones apart at no cost.
+    private static boolean shallowEquals(JsonObject a, JsonObject b) {
+        if (a == null || b == null) {
+            return a == b;
+        }
+        if (a.jsonType != b.jsonType) {
+            return false;
+        }
+        switch (a.jsonType) {
+            case Null:
+                return true;
+            case Array:
+                return a.getList().size() == b.getList().size() && (!a.isFrozen() || !b.isFrozen() || a.hashCode() == b.hashCode());
+            case Object:
+                return a.getObject().size() == b.getObject().size() && (!a.isFrozen() || !b.isFrozen() || a.hashCode() == b.hashCode());
+            default:
+                return a.object.equals(b.object);
+        }
+    }
+
+    private static void pushChildren(ArrayDeque<JsonObject> pending, JsonObject a, JsonObject b) {
+        if (a.jsonType == JsonType.Array || a.jsonType == JsonType.Object) {
+            pending.push(a);
+            pending.push(b);
+        }
+    }
+
+    // Consistent with equals, containers hash as a List or Map of their children.
+    // Frozen trees keep the hash of every container once worked out, freeze a tree that is hashed repeatedly.
+    // Walks an explicit stack, so depth is not limited.
+    @Override
+    public int hashCode() {
+        if (jsonType != JsonType.Array && jsonType != JsonType.Object) {
+            return object == null ? 0 : object.hashCode();
+        }
+        int known = cachedHash();
+        if (known != 0) {
+            return known;
+        }
+        // Post-order, a container's hash is finished once all of its children are hashed
+        ArrayDeque<HashFrame> pending = new ArrayDeque<>();
+        pending.push(new HashFrame(this));
+        int hash = 0;
+        boolean returned = false;
+        while (true) {
+            HashFrame frame = pending.peek();
+            if (returned) {
+                frame.add(hash);
+                returned = false;
             }
-            if (currentIndex < input.length()
-                    && input.charAt(currentIndex) >= '0'
-                    && input.charAt(currentIndex) <= '9') {
-                while (currentIndex < input.length()
-                        && input.charAt(currentIndex) >= '0'
-                        && input.charAt(currentIndex) <= '9') {
-                    sb.append(input.charAt(currentIndex++));
+            JsonObject child = null;
+            while (frame.hasNext()) {
+                child = frame.next();
+                if (child != null && (child.jsonType == JsonType.Array || child.jsonType == JsonType.Object) && child.cachedHash() == 0) {
+                    break;
                 }
-            } else {
-                throw new JsonParseException(buildErrorMessage("Incomplete exponent", input, currentIndex));
+                frame.add(child == null ? 0 : child.hashCode());
+                child = null;
+            }
+            if (child != null) {
+                pending.push(new HashFrame(child));
+                continue;
             }
+            pending.pop();
+            hash = frame.hash;
+            frame.source.cacheHash(hash);
+            if (pending.isEmpty()) {
+                return hash;
+            }
+            returned = true;
         }
-
-        index.plus(currentIndex - startIndex);
-
-        return new JsonNumber(sb.toString());
     }
 
-    private static char hexToUChar(char input) throws JsonParseException {
-        if (input >= 'A' && input <= 'F') {
-            return (char) (input - 'A' + 10);
-        } else if (input >= 'a' && input <= 'f') {
-            return (char) (input - 'a' + 10);
-        } else if (input >= '0' && input <= '9') {
-            return (char) (input - '0');
-        } else {
-            throw new JsonParseException();
+    // The hash a frozen container keeps, 0 when it is not known or not kept
+    private int cachedHash() {
+        if (object instanceof JsonFrozenList) {
+            return ((JsonFrozenList) object).cachedHash();
+        } else if (object instanceof JsonCompactMap) {
+            return ((JsonCompactMap) object).cachedHash();
         }
+        return 0;
     }
 
-    private static String parseString(String input, Index index) throws JsonParseException {
-        if (input.charAt(index.saveGet()) != '"') {
-            throw new JsonParseException(buildErrorMessage("Invalid string", input, index.get()));
+    private void cacheHash(int hash) {
+        if (object instanceof JsonFrozenList) {
+            ((JsonFrozenList) object).cacheHash(hash);
+        } else if (object instanceof JsonCompactMap) {
+            ((JsonCompactMap) object).cacheHash(hash);
         }
-        index.increment();
-        StringBuilder sb = new StringBuilder();
-        while (input.charAt(index.saveGet()) != '"') {
-            if (input.charAt(index.saveGet()) == '\\') {
-                index.increment();
-                switch (input.charAt(index.saveGet())) {
-                    case '"':
-                        sb.append('"');
-                        break;
-                    case '\\':
-                        sb.append('\\');
-                        break;
-                    // Front Slash Rules
-                    // - Front slash will NOT be escaped in serialization.
-                    // - However, an escaped front slash is acceptable '\/' in deserialization.
-                    // - The behavior is the same as most third-party JSON libs like Jackson and Gson.
-                    case '/':
-                        sb.append('/');
-                        break;
-                    case 'b':
-                        sb.append('\b');
-                        break;
-                    case 'f':
-                        sb.append('\f');
-                        break;
-                    case 'n':
-                        sb.append('\n');
-                        break;
-                    case 'r':
-                        sb.append('\r');
-                        break;
-                    case 't':
-                        sb.append('\t');
-                        break;
-                    case 'u': {
-                        try {
-                            index.increment();
-                            char h1 = hexToUChar(input.charAt(index.saveGet()));
-                            index.increment();
-                            char h2 = hexToUChar(input.charAt(index.saveGet()));
-                            index.increment();
-                            char h3 = hexToUChar(input.charAt(index.saveGet()));
-                            index.increment();
-                            char h4 = hexToUChar(input.charAt(index.saveGet()));
-                            sb.append((char) ((h1 << 12) + (h2 << 8) + (h3 << 4) + h4));
-                        } catch (JsonParseException e) {
-                            throw new JsonParseException(
-                                    buildErrorMessage("Invalid Unicode escaped character", input, index.get()));
-                        }
-                        break;
-                    }
-                    default:
-                        throw new JsonParseException(
-                                buildErrorMessage("Invalid escaped character", input, index.get()));
-                }
+    }
+
+    private JsonObject(JsonType jsonType, Object object) {
+        this.jsonType = jsonType;
+        this.object = object;
+    }
+
+    // A container being hashed, folding in its children as List.hashCode and Map.hashCode do
+    private static class HashFrame {
+        private final JsonObject source;
+        // One of the two is null
+        private final Iterator<JsonObject> elements;
+        private final Iterator<Map.Entry<String, JsonObject>> entries;
+        private String key;
+        private int hash;
+
+        HashFrame(JsonObject source) {
+            this.source = source;
+            if (source.jsonType == JsonType.Array) {
+                elements = source.getList().iterator();
+                entries = null;
+                hash = 1;
             } else {
-                sb.append(input.charAt(index.saveGet()));
+                elements = null;
+                entries = source.getObject().entrySet().iterator();
             }
-            index.increment();
         }
-        index.increment();
-        return sb.toString();
-    }
 
-    private static List<JsonObject> parseList(String input, Index index) throws JsonParseException {
-        if (input.charAt(index.saveGet()) != '[') {
-            throw new JsonParseException(buildErrorMessage("Invalid list", input, index.get()));
+        boolean hasNext() {
+            return elements != null ? elements.hasNext() : entries.hasNext();
         }
-        index.increment();
-        List<JsonObject> list = new ArrayList<>();
-        readWhitespace(input, index);
-        if (input.charAt(index.saveGet()) != ']') {
-            while (true) {
-                list.add(parseValue(input, index));
-                if (input.charAt(index.saveGet()) == ']') {
-                    break;
-                } else if (input.charAt(index.saveGet()) == ',') {
-                    index.increment();
-                } else {
-                    throw new JsonParseException(
-                            buildErrorMessage("Missing comma in list", input, index.get()));
-                }
+
+        JsonObject next() {
+            if (elements != null) {
+                return elements.next();
             }
+            Map.Entry<String, JsonObject> entry = entries.next();
+            key = entry.getKey();
+            return entry.getValue();
         }
-        index.increment();
-        return list;
-    }
-
-    private static Map<String, JsonObject> parseObject(String input, Index index) throws JsonParseException {
-        if (input.charAt(index.saveGet()) != '{') {
-            throw new JsonParseException(buildErrorMessage("Invalid object", input, index.get()));
-        }
-        index.increment();
-        Map<String, JsonObject> map = new LinkedHashMap<>();
-        readWhitespace(input, index);
-        if (input.charAt(index.saveGet()) != '}') {
-            while (true) {
-                readWhitespace(input, index);
-                String key = parseString(input, index);
-                readWhitespace(input, index);
-                if (input.charAt(index.saveGet()) != ':') {
-                    throw new JsonParseException(
-                            buildErrorMessage("Missing colon in object", input, index.get()));
-                }
-                index.increment();
-                map.put(key, parseValue(input, index));
-                if (input.charAt(index.saveGet()) == '}') {
-                    break;
-                } else if (input.charAt(index.saveGet()) == ',') {
-                    index.increment();
-                } else {
-                    throw new JsonParseException(
-                            buildErrorMessage("Missing comma in object", input, index.get()));
-                }
+
+        void add(int childHash) {
+            if (elements != null) {
+                hash = 31 * hash + childHash;
+            } else {
+                hash += key.hashCode() ^ childHash;
             }
         }
-        index.increment();
-        return map;
     }
 
-    private static String buildErrorMessage(String errorType, String source, int position)
-    {
-        int nearStart = position >= 3 ? position - 3 : 0;
-        int nearEnd = position + 3 < source.length() ? position + 3 : source.length() - 1;
-        return String.format("Parse Error - %s at position %d near \"%s\", source = \"%s\".",
-                errorType, position, source.substring(nearStart, nearEnd + 1), source);
-    }
+    // A container being frozen: its children, replaced in place by their frozen form up to next
+    private static class FreezeFrame {
+        // Null for an array
+        private final String[] keys;
+        private final JsonObject[] values;
+        private int next;
 
-    private static void appendStringEscaped(StringBuilder sb, String input) {
-        for (int i = 0; i < input.length(); ++i) {
-            char c = input.charAt(i);
-            switch (c) {
-                case '"':
-                    sb.append("\\\"");
-                    break;
-                case '\\':
-                    sb.append("\\\\");
-                    break;
-                case '\b':
-                    sb.append("\\b");
-                    break;
-                case '\f':
-                    sb.append("\\f");
-                    break;
-                case '\n':
-                    sb.append("\\n");
-                    break;
-                case '\r':
-                    sb.append("\\r");
-                    break;
-                case '\t':
-                    sb.append("\\t");
-                    break;
-                default:
-                    sb.append(c);
-                    break;
+        FreezeFrame(JsonObject source) {
+            if (source.jsonType == JsonType.Array) {
+                keys = null;
+                values = source.getList().toArray(new JsonObject[0]);
+            } else {
+                Map<String, JsonObject> map = source.getObject();
+                keys = new String[map.size()];
+                values = new JsonObject[keys.length];
+                int i = 0;
+                for (Map.Entry<String, JsonObject> entry : map.entrySet()) {
+                    keys[i] = entry.getKey();
+                    values[i++] = entry.getValue();
+                }
             }
         }
-    }
 
-    private void appendWithThis(StringBuilder sb) {
-        switch (jsonType) {
-            case Null:
-                sb.append("null");
-                break;
-            case Boolean:
-                sb.append(getBool());
-                break;
-            case Number:
-                sb.append(getNumber());
-                break;
-            case String:
-                sb.append('"');
-                appendStringEscaped(sb, getString());
-                sb.append('"');
-                break;
-            case Array:
-                sb.append('[');
-                getList().forEach(e -> {
-                    e.appendWithThis(sb);
-                    sb.append(',');
-                });
-                if (getList().size() > 0) sb.setLength(sb.length() - 1);
-                sb.append(']');
-                break;
-            case Object:
-                sb.append('{');
-                getObject().forEach((key, value) -> {
-                    sb.append('"');
-                    appendStringEscaped(sb, key);
-                    sb.append('"').append(':');
-                    value.appendWithThis(sb);
-                    sb.append(',');
-                });
-                if (getObject().size() > 0) sb.setLength(sb.length() - 1);
-                sb.append('}');
-                break;
+        JsonObject build() {
+            if (keys == null) {
+                return new JsonObject(JsonType.Array, new JsonFrozenList(values));
+            }
+            return new JsonObject(JsonType.Object, JsonCompactMap.frozen(keys, values));
         }
     }
 }
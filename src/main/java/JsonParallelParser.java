@@ -0,0 +1,280 @@
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Parses the elements of a top-level array, or the records of newline delimited JSON, on a ForkJoinPool.
+// One sequential pass finds where each element starts and ends by tracking only strings and nesting depth.
+// Every TASK_CHARS of elements it finds are handed to the pool straight away, so parsing overlaps the pass,
+// and the chunks are joined in order at the end.
+class JsonParallelParser {
+    // Elements are grouped into chunks of at least this many chars
+    private static final int TASK_CHARS = 1 << 16;
+    // Chars read at a time from a Reader
+    private static final int SEGMENT_CHARS = 1 << 20;
+
+    private static final byte OTHER = 0;
+    private static final byte QUOTE = 1;
+    private static final byte OPEN = 2;
+    private static final byte CLOSE = 3;
+    private static final byte COMMA = 4;
+    private static final byte[] CLASSES = new byte[128];
+
+    static {
+        CLASSES['"'] = QUOTE;
+        CLASSES['['] = OPEN;
+        CLASSES['{'] = OPEN;
+        CLASSES[']'] = CLOSE;
+        CLASSES['}'] = CLOSE;
+        CLASSES[','] = COMMA;
+    }
+
+    private final String input;
+    private final ForkJoinPool pool;
+    private final List<Chunk> chunks = new ArrayList<>();
+    // Start and end pairs of the elements not yet handed to a chunk
+    private int[] bounds = new int[64];
+    private int size;
+    private int count;
+    // Lowest failed element, later elements are not worth parsing once one has failed
+    private final AtomicInteger failed = new AtomicInteger(Integer.MAX_VALUE);
+
+    private JsonParallelParser(String input, ForkJoinPool pool) {
+        this.input = input;
+        this.pool = pool;
+    }
+
+    static List<JsonObject> parseArray(String input, ForkJoinPool pool) {
+        JsonParallelParser parser = new JsonParallelParser(input, pool);
+        if (!parser.splitArray()) {
+            parser.failed.set(-1);
+            // Malformed somewhere, the sequential parser reports exactly where
+            return JsonObject.create(input).getList();
+        }
+        List<JsonObject> result = parser.collect();
+        return result != null ? result : JsonObject.create(input).getList();
+    }
+
+    static List<JsonObject> parseLines(String input, ForkJoinPool pool) {
+        return new JsonParallelParser(input, pool).parseLines(0, 0);
+    }
+
+    // Read SEGMENT_CHARS at a time and cut after the last newline, so the text is never held as a whole
+    // and its length is not bounded by that of a String. Segments are parsed one after the other.
+    static List<JsonObject> parseLines(Reader input, ForkJoinPool pool) {
+        List<JsonObject> result = new ArrayList<>();
+        char[] buffer = new char[SEGMENT_CHARS];
+        int size = 0;
+        long offset = 0;
+        long lines = 0;
+        try {
+            boolean end = false;
+            while (!end) {
+                int count = input.read(buffer, size, buffer.length - size);
+                if (count < 0) {
+                    end = true;
+                } else {
+                    size += count;
+                    if (size < buffer.length) {
+                        continue;
+                    }
+                }
+                int cut = size;
+                if (!end) {
+                    while (cut > 0 && buffer[cut - 1] != '\n') {
+                        cut--;
+                    }
+                    if (cut == 0) {
+                        // A single record longer than the buffer
+                        buffer = Arrays.copyOf(buffer, buffer.length * 2);
+                        continue;
+                    }
+                }
+                String segment = new String(buffer, 0, cut);
+                result.addAll(new JsonParallelParser(segment, pool).parseLines(offset, lines));
+                for (int i = 0; i < cut; ++i) {
+                    if (buffer[i] == '\n') {
+                        lines++;
+                    }
+                }
+                offset += cut;
+                size -= cut;
+                System.arraycopy(buffer, cut, buffer, 0, size);
+            }
+        } catch (IOException e) {
+            throw new JsonIOException("Read Error - " + e.getMessage(), e);
+        }
+        return result;
+    }
+
+    // Records of input, which starts offset chars and lines newlines into the whole text
+    private List<JsonObject> parseLines(long offset, long lines) {
+        splitLines();
+        List<JsonObject> result = collect();
+        if (result == null) {
+            int element = failed.get();
+            for (Chunk chunk : chunks) {
+                if (element < chunk.first + chunk.count) {
+                    // Records start a line, so only the position and line move
+                    JsonSyntaxException e = chunk.error;
+                    throw new JsonSyntaxException(e.getErrorType(), offset + e.getPosition(), lines + e.getLine(),
+                            e.getColumn(), e.getNear(), true);
+                }
+            }
+        }
+        return result;
+    }
+
+    private boolean splitArray() {
+        int i = skipWhitespace(0);
+        if (i == input.length() || input.charAt(i) != '[') {
+            return false;
+        }
+        i = skipWhitespace(i + 1);
+        if (i < input.length() && input.charAt(i) == ']') {
+            return skipWhitespace(i + 1) == input.length();
+        }
+        int start = i;
+        int depth = 0;
+        for (; i < input.length(); ++i) {
+            char c = input.charAt(i);
+            switch (c < CLASSES.length ? CLASSES[c] : OTHER) {
+                case QUOTE:
+                    i = skipString(i);
+                    if (i < 0) {
+                        return false;
+                    }
+                    break;
+                case OPEN:
+                    depth++;
+                    break;
+                case CLOSE:
+                    if (depth == 0) {
+                        add(start, i);
+                        return input.charAt(i) == ']' && skipWhitespace(i + 1) == input.length();
+                    }
+                    depth--;
+                    break;
+                case COMMA:
+                    if (depth == 0) {
+                        add(start, i);
+                        start = i + 1;
+                    }
+                    break;
+                default:
+                    break;
+            }
+        }
+        return false;
+    }
+
+    private void splitLines() {
+        int start = 0;
+        while (start < input.length()) {
+            int end = input.indexOf('\n', start);
+            if (end < 0) {
+                end = input.length();
+            }
+            if (skipWhitespace(start) < end) {
+                add(start, end);
+            }
+            start = end + 1;
+        }
+    }
+
+    // Position of the closing quote, or -1 when the string is not terminated
+    private int skipString(int open) {
+        int i = open;
+        while (true) {
+            i = input.indexOf('"', i + 1);
+            if (i < 0) {
+                return -1;
+            }
+            // Escaped when preceded by an odd number of backslashes
+            int backslashes = 0;
+            while (input.charAt(i - 1 - backslashes) == '\\') {
+                backslashes++;
+            }
+            if ((backslashes & 1) == 0) {
+                return i;
+            }
+        }
+    }
+
+    private int skipWhitespace(int i) {
+        while (i < input.length()) {
+            char c = input.charAt(i);
+            if (c != ' ' && c != '\n' && c != '\r' && c != '\t') {
+                break;
+            }
+            i++;
+        }
+        return i;
+    }
+
+    private void add(int start, int end) {
+        if (size == bounds.length) {
+            bounds = Arrays.copyOf(bounds, size * 2);
+        }
+        bounds[size++] = start;
+        bounds[size++] = end;
+        if (end - bounds[0] >= TASK_CHARS) {
+            flush();
+        }
+    }
+
+    private void flush() {
+        if (size > 0) {
+            Chunk chunk = new Chunk(count, bounds, size / 2);
+            chunks.add(chunk);
+            pool.execute(chunk);
+            count += size / 2;
+            bounds = new int[bounds.length];
+            size = 0;
+        }
+    }
+
+    // Every element in order, or null when one of them failed to parse
+    private List<JsonObject> collect() {
+        flush();
+        List<JsonObject> list = new ArrayList<>(count);
+        for (Chunk chunk : chunks) {
+            chunk.join();
+            list.addAll(Arrays.asList(chunk.results));
+        }
+        return failed.get() == Integer.MAX_VALUE ? list : null;
+    }
+
+    private class Chunk extends RecursiveAction {
+        private final int first;
+        private final int[] bounds;
+        private final int count;
+        private final JsonObject[] results;
+        private JsonSyntaxException error;
+
+        Chunk(int first, int[] bounds, int count) {
+            this.first = first;
+            this.bounds = bounds;
+            this.count = count;
+            this.results = new JsonObject[count];
+        }
+
+        @Override
+        protected void compute() {
+            for (int i = 0; i < count && first + i < failed.get(); ++i) {
+                try {
+                    // In place, a substring would copy the whole document once more
+                    results[i] = JsonParser.local(null, false).parse(input, bounds[i * 2], bounds[i * 2 + 1]);
+                } catch (JsonSyntaxException e) {
+                    error = e;
+                    failed.accumulateAndGet(first + i, Math::min);
+                    return;
+                }
+            }
+        }
+    }
+}
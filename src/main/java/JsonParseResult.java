@@ -0,0 +1,26 @@
+// Outcome of JsonObject.tryCreate, either the parsed value or the reason the input was rejected.
+public class JsonParseResult {
+    private final JsonObject value;
+    private final JsonSyntaxException error;
+
+    JsonParseResult(JsonObject value, JsonSyntaxException error) {
+        this.value = value;
+        this.error = error;
+    }
+
+    public boolean isValid() {
+        return error == null;
+    }
+
+    // Throws the error of rejected input, which carries no stack trace
+    public JsonObject getValue() {
+        if (error != null) {
+            throw error;
+        }
+        return value;
+    }
+
+    public JsonSyntaxException getError() {
+        return error;
+    }
+}
@@ -0,0 +1,596 @@
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// Recursive descent parser over a String. The cursor is a plain int field that the scanning loops copy into
+// a local and write back once, and the bounds check is the comparison the loop already makes against length.
+// An instance keeps its options and scratch buffer between documents, reuse it but do not share it between threads.
+public class JsonParser {
+    // Scratch buffers that grew past this for one large string are not kept for the next
+    private static final int MAX_RETAINED_SCRATCH = 1 << 16;
+    private static final ThreadLocal<JsonParser> POOL = ThreadLocal.withInitial(JsonParser::new);
+
+    private String input;
+    private int position;
+    private int length;
+    private JsonSymbolTable symbols;
+    private boolean compact;
+    // Handed out by local, a parse that starts inside another one on the same thread gets a fresh parser
+    private boolean acquired;
+    // Strings with escapes are decoded here
+    private final StringBuilder scratch = new StringBuilder();
+
+    // The calling thread's parser behind JsonObject.create, with the options of one call
+    static JsonParser local(JsonSymbolTable symbols, boolean compact) {
+        JsonParser parser = POOL.get();
+        if (parser.acquired) {
+            parser = new JsonParser();
+        } else {
+            parser.acquired = true;
+        }
+        parser.symbols = symbols;
+        parser.compact = compact;
+        return parser;
+    }
+
+    // Object keys are canonicalized through symbols, which may be shared between threads and documents
+    public void setSymbolTable(JsonSymbolTable symbols) {
+        this.symbols = symbols;
+    }
+
+    // Objects are stored as key and value arrays and lists are trimmed to size, for trees that are kept around
+    public void setCompact(boolean compact) {
+        this.compact = compact;
+    }
+
+    public JsonObject parse(String input) {
+        try {
+            return parseDocument(input);
+        } catch (JsonObject.JsonParseException e) {
+            throw JsonSyntaxException.of(e, input, true);
+        } finally {
+            release();
+        }
+    }
+
+    // The value in input[start, end) with only whitespace around it, parsed in place without copying the range.
+    // Error positions count from the start of input.
+    JsonObject parse(String input, int start, int end) {
+        try {
+            return parseDocument(input, start, end);
+        } catch (JsonObject.JsonParseException e) {
+            throw JsonSyntaxException.of(e, input, true);
+        } finally {
+            release();
+        }
+    }
+
+    // Rejects malformed input without throwing, so validating untrusted input stays cheap
+    public JsonParseResult tryParse(String input) {
+        try {
+            return new JsonParseResult(parseDocument(input), null);
+        } catch (JsonObject.JsonParseException e) {
+            return new JsonParseResult(null, JsonSyntaxException.of(e, input, false));
+        } finally {
+            release();
+        }
+    }
+
+    // Binds straight from the input to a new instance of type, no tree is built in between
+    @SuppressWarnings("unchecked")
+    public <T> T parse(String input, Class<T> type) {
+        try {
+            // Inside the try, an unsupported type still releases the pooled parser
+            JsonCodec codec = JsonCodec.of(type);
+            reset(input, 0);
+            skipWhitespace();
+            Object result = codec.read(this);
+            skipWhitespace();
+            if (position != length) {
+                throw new JsonObject.JsonParseException("Redundant component", position);
+            }
+            return (T) result;
+        } catch (JsonObject.JsonParseException e) {
+            throw JsonSyntaxException.of(e, input, true);
+        } finally {
+            release();
+        }
+    }
+
+    // Objects shaped like shape are decoded by its specialized path, anything else by the generic one
+    public JsonObject parse(String input, JsonShape shape) {
+        try {
+            reset(input, 0);
+            skipWhitespace();
+            JsonObject result = shape.read(this);
+            skipWhitespace();
+            if (position != length) {
+                throw new JsonObject.JsonParseException("Redundant component", position);
+            }
+            return result;
+        } catch (JsonObject.JsonParseException e) {
+            throw JsonSyntaxException.of(e, input, true);
+        } finally {
+            release();
+        }
+    }
+
+    private void release() {
+        input = null;
+        if (acquired) {
+            // The pooled parser does not keep the caller's symbol table alive
+            symbols = null;
+            acquired = false;
+        }
+        if (scratch.capacity() > MAX_RETAINED_SCRATCH) {
+            scratch.setLength(0);
+            scratch.trimToSize();
+        }
+    }
+
+    private JsonObject parseDocument(String input) throws JsonObject.JsonParseException {
+        return parseDocument(input, 0, input.length());
+    }
+
+    private JsonObject parseDocument(String input, int start, int end) throws JsonObject.JsonParseException {
+        reset(input, start);
+        length = end;
+        JsonObject result = parseValue();
+        if (position != length) {
+            throw new JsonObject.JsonParseException("Redundant component", position);
+        }
+        return result;
+    }
+
+    void reset(String input, int position) {
+        this.input = input;
+        this.position = position;
+        this.length = input.length();
+    }
+
+    int position() {
+        return position;
+    }
+
+    void seek(int position) {
+        this.position = position;
+    }
+
+    private static JsonObject.JsonParseException overflow(int position) {
+        return JsonObject.JsonParseException.overflow(position);
+    }
+
+    // The char at the cursor, which must not be past the end
+    char current() throws JsonObject.JsonParseException {
+        if (position >= length) {
+            throw overflow(position);
+        }
+        return input.charAt(position);
+    }
+
+    void advance() {
+        position++;
+    }
+
+    private JsonObject parseValue() throws JsonObject.JsonParseException {
+        skipWhitespace();
+        JsonObject result = parseValueBody();
+        skipWhitespace();
+        return result;
+    }
+
+    void skipWhitespace() {
+        int i = position;
+        while (i < length) {
+            char c = input.charAt(i);
+            if (c > ' ' || (c != ' ' && c != '\n' && c != '\r' && c != '\t')) {
+                break;
+            }
+            i++;
+        }
+        position = i;
+    }
+
+    JsonObject parseValueBody() throws JsonObject.JsonParseException {
+        switch (current()) {
+            case 'n':
+                skipLiteral("null", "Invalid null node");
+                return JsonObject.NULL;
+            case 't':
+                skipLiteral("true", "Invalid true node");
+                return JsonObject.TRUE;
+            case 'f':
+                skipLiteral("false", "Invalid false node");
+                return JsonObject.FALSE;
+            case '"':
+                return new JsonObject(parseString(null));
+            case '[':
+                return new JsonObject(parseList());
+            case '{':
+                return new JsonObject(parseObject());
+            default:
+                return parseNumber();
+        }
+    }
+
+    // One region compare, the error position is only looked for when it fails
+    private void skipLiteral(String literal, String errorType) throws JsonObject.JsonParseException {
+        int i = position;
+        if (i + literal.length() <= length && input.startsWith(literal, i)) {
+            position = i + literal.length();
+            return;
+        }
+        for (int k = 0; ; ++k, ++i) {
+            if (i >= length) {
+                throw overflow(i);
+            } else if (input.charAt(i) != literal.charAt(k)) {
+                throw new JsonObject.JsonParseException(errorType, i);
+            }
+        }
+    }
+
+    private JsonObject parseNumber() throws JsonObject.JsonParseException {
+        return JsonObject.valueOf(parseNumberBody());
+    }
+
+    // A number without its JsonObject
+    JsonNumber parseNumberBody() throws JsonObject.JsonParseException {
+        int start = position;
+        long magnitude = scanNumber();
+        if (magnitude >= 0) {
+            return JsonNumber.valueOf(input.charAt(start) == '-' ? -magnitude : magnitude);
+        }
+        // Digits are scanned in place, only decimals keep a copy of their text
+        return JsonNumber.parse(input, start, position);
+    }
+
+    // Validates a number and moves past it.
+    // Returns the magnitude of a plain integer that JsonNumber.parse would store without text, otherwise -1.
+    long scanNumber() throws JsonObject.JsonParseException {
+        int i = position;
+        char c = input.charAt(i);
+
+        // Integer Part
+        // Leading zeros are allowed
+        boolean negative = c == '-';
+        if (negative) {
+            i++;
+        } else if (c < '0' || c > '9') {
+            throw new JsonObject.JsonParseException("Read type error", i);
+        }
+        int digitsStart = i;
+        long magnitude = 0;
+        while (i < length && (c = input.charAt(i)) >= '0' && c <= '9') {
+            magnitude = magnitude * 10 + (c - '0');
+            i++;
+        }
+        int digits = i - digitsStart;
+        if (digits == 0) {
+            throw new JsonObject.JsonParseException("Incomplete number", i);
+        }
+        boolean integer = true;
+
+        // Fraction Part
+        if (i < length && input.charAt(i) == '.') {
+            integer = false;
+            int fractionStart = ++i;
+            while (i < length && (c = input.charAt(i)) >= '0' && c <= '9') {
+                i++;
+            }
+            if (i == fractionStart) {
+                throw new JsonObject.JsonParseException("Incomplete fraction", i);
+            }
+        }
+
+        // Exponent Part
+        if (i < length && ((c = input.charAt(i)) == 'e' || c == 'E')) {
+            integer = false;
+            i++;
+            if (i < length && ((c = input.charAt(i)) == '+' || c == '-')) {
+                i++;
+            }
+            int exponentStart = i;
+            while (i < length && (c = input.charAt(i)) >= '0' && c <= '9') {
+                i++;
+            }
+            if (i == exponentStart) {
+                throw new JsonObject.JsonParseException("Incomplete exponent", i);
+            }
+        }
+
+        position = i;
+        boolean canonical = digits == 1 ? !(negative && magnitude == 0) : input.charAt(digitsStart) != '0';
+        return integer && canonical && digits <= 18 ? magnitude : -1;
+    }
+
+    String parseString(JsonSymbolTable symbols) throws JsonObject.JsonParseException {
+        int i = position;
+        if (i >= length) {
+            throw overflow(i);
+        } else if (input.charAt(i) != '"') {
+            throw new JsonObject.JsonParseException("Invalid string", i);
+        }
+        int start = ++i;
+
+        // Fast path - strings without escapes are returned as one substring of the input
+        while (i < length) {
+            char c = input.charAt(i);
+            if (c == '"') {
+                position = i + 1;
+                return symbols != null ? symbols.lookup(input, start, i) : input.substring(start, i);
+            } else if (c == '\\') {
+                break;
+            }
+            i++;
+        }
+
+        // Slow path from the first escape on, the runs between escapes are copied in bulk
+        StringBuilder sb = scratch;
+        sb.setLength(0);
+        int runStart = start;
+        while (true) {
+            if (i >= length) {
+                throw overflow(i);
+            }
+            char c = input.charAt(i);
+            if (c == '"') {
+                break;
+            } else if (c == '\\') {
+                sb.append(input, runStart, i);
+                i = parseEscape(sb, i + 1);
+                runStart = i;
+            } else {
+                i++;
+            }
+        }
+        sb.append(input, runStart, i);
+        position = i + 1;
+        return sb.toString();
+    }
+
+    // Where the key at the cursor is in names, or -1. Compared in place unless it has escapes,
+    // starting at hint so that keys coming in the order of names match on the first compare.
+    int parseKey(String[] names, int hint) throws JsonObject.JsonParseException {
+        int i = position;
+        if (i >= length) {
+            throw overflow(i);
+        } else if (input.charAt(i) != '"') {
+            throw new JsonObject.JsonParseException("Invalid string", i);
+        }
+        int start = ++i;
+        int count = names.length;
+        while (i < length) {
+            char c = input.charAt(i);
+            if (c == '"') {
+                position = i + 1;
+                int keyLength = i - start;
+                for (int k = 0, index = hint; k < count; ++k, index = index + 1 == count ? 0 : index + 1) {
+                    String name = names[index];
+                    if (name.length() == keyLength && input.regionMatches(start, name, 0, keyLength)) {
+                        return index;
+                    }
+                }
+                return -1;
+            } else if (c == '\\') {
+                break;
+            }
+            i++;
+        }
+        String key = parseString(null);
+        for (int k = 0; k < count; ++k) {
+            if (names[k].equals(key)) {
+                return k;
+            }
+        }
+        return -1;
+    }
+
+    // Validates a string exactly like parseString without building it
+    void skipString() throws JsonObject.JsonParseException {
+        int i = position;
+        if (i >= length) {
+            throw overflow(i);
+        } else if (input.charAt(i) != '"') {
+            throw new JsonObject.JsonParseException("Invalid string", i);
+        }
+        i++;
+        while (true) {
+            if (i >= length) {
+                throw overflow(i);
+            }
+            char c = input.charAt(i);
+            if (c == '"') {
+                break;
+            }
+            i = c == '\\' ? parseEscape(null, i + 1) : i + 1;
+        }
+        position = i + 1;
+    }
+
+    // Validates one value exactly like parseValueBody without building it
+    void skipValueBody() throws JsonObject.JsonParseException {
+        switch (current()) {
+            case 'n':
+            case 't':
+            case 'f':
+                // Shared constants, nothing is allocated
+                parseValueBody();
+                break;
+            case '"':
+                skipString();
+                break;
+            case '[':
+                position++;
+                skipWhitespace();
+                if (current() != ']') {
+                    while (true) {
+                        skipWhitespace();
+                        skipValueBody();
+                        skipWhitespace();
+                        char c = current();
+                        if (c == ']') {
+                            break;
+                        } else if (c != ',') {
+                            throw new JsonObject.JsonParseException("Missing comma in list", position);
+                        }
+                        position++;
+                    }
+                }
+                position++;
+                break;
+            case '{':
+                position++;
+                skipWhitespace();
+                if (current() != '}') {
+                    while (true) {
+                        skipWhitespace();
+                        skipString();
+                        skipWhitespace();
+                        if (current() != ':') {
+                            throw new JsonObject.JsonParseException("Missing colon in object", position);
+                        }
+                        position++;
+                        skipWhitespace();
+                        skipValueBody();
+                        skipWhitespace();
+                        char c = current();
+                        if (c == '}') {
+                            break;
+                        } else if (c != ',') {
+                            throw new JsonObject.JsonParseException("Missing comma in object", position);
+                        }
+                        position++;
+                    }
+                }
+                position++;
+                break;
+            default:
+                scanNumber();
+        }
+    }
+
+    // Decodes the escape sequence following a backslash into sb, unless it is null, and returns where it ends
+    private int parseEscape(StringBuilder sb, int i) throws JsonObject.JsonParseException {
+        if (i >= length) {
+            throw overflow(i);
+        }
+        char result;
+        switch (input.charAt(i)) {
+            case '"':
+                result = '"';
+                break;
+            case '\\':
+                result = '\\';
+                break;
+            // Front Slash Rules
+            // - Front slash will NOT be escaped in serialization.
+            // - However, an escaped front slash is acceptable '\/' in deserialization.
+            // - The behavior is the same as most third-party JSON libs like Jackson and Gson.
+            case '/':
+                result = '/';
+                break;
+            case 'b':
+                result = '\b';
+                break;
+            case 'f':
+                result = '\f';
+                break;
+            case 'n':
+                result = '\n';
+                break;
+            case 'r':
+                result = '\r';
+                break;
+            case 't':
+                result = '\t';
+                break;
+            case 'u': {
+                int value = 0;
+                for (int k = 0; k < 4; ++k) {
+                    i++;
+                    int digit = i < length ? hexValue(input.charAt(i)) : -1;
+                    if (digit < 0) {
+                        throw new JsonObject.JsonParseException("Invalid Unicode escaped character", i);
+                    }
+                    value = (value << 4) + digit;
+                }
+                result = (char) value;
+                break;
+            }
+            default:
+                throw new JsonObject.JsonParseException("Invalid escaped character", i);
+        }
+        if (sb != null) {
+            sb.append(result);
+        }
+        return i + 1;
+    }
+
+    // Value of a hex digit, or -1
+    static int hexValue(char c) {
+        if (c >= '0' && c <= '9') {
+            return c - '0';
+        } else if (c >= 'a' && c <= 'f') {
+            return c - 'a' + 10;
+        } else if (c >= 'A' && c <= 'F') {
+            return c - 'A' + 10;
+        }
+        return -1;
+    }
+
+    private List<JsonObject> parseList() throws JsonObject.JsonParseException {
+        position++;
+        ArrayList<JsonObject> list = new ArrayList<>();
+        skipWhitespace();
+        if (current() != ']') {
+            while (true) {
+                list.add(parseValue());
+                char c = current();
+                if (c == ']') {
+                    break;
+                } else if (c == ',') {
+                    position++;
+                } else {
+                    throw new JsonObject.JsonParseException("Missing comma in list", position);
+                }
+            }
+        }
+        position++;
+        if (compact) {
+            list.trimToSize();
+        }
+        return list;
+    }
+
+    private Map<String, JsonObject> parseObject() throws JsonObject.JsonParseException {
+        position++;
+        Map<String, JsonObject> map = compact ? new JsonCompactMap() : new LinkedHashMap<>();
+        skipWhitespace();
+        if (current() != '}') {
+            while (true) {
+                skipWhitespace();
+                String key = parseString(symbols);
+                skipWhitespace();
+                if (current() != ':') {
+                    throw new JsonObject.JsonParseException("Missing colon in object", position);
+                }
+                position++;
+                map.put(key, parseValue());
+                char c = current();
+                if (c == '}') {
+                    break;
+                } else if (c == ',') {
+                    position++;
+                } else {
+                    throw new JsonObject.JsonParseException("Missing comma in object", position);
+                }
+            }
+        }
+        position++;
+        if (compact) {
+            ((JsonCompactMap) map).trimToSize();
+        }
+        return map;
+    }
+}
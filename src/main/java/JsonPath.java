@@ -0,0 +1,194 @@
+import java.util.ArrayList;
+import java.util.List;
+
+// Compiled JSON Pointer ("/field/1/0") or JSONPath subset ("$.field[1][0]", "$['a.b']"), parsed once and reused.
+// A path names at most one value, find walks an existing tree and extract pulls values out of raw input.
+// Immutable, so one instance can be shared between threads.
+public final class JsonPath {
+    private final String expression;
+    // Per step, the key it matches in an object or null, and the index it matches in an array or -1
+    private final String[] names;
+    private final int[] indexes;
+
+    private JsonPath(String expression, String[] names, int[] indexes) {
+        this.expression = expression;
+        this.names = names;
+        this.indexes = indexes;
+    }
+
+    // Pointers start with a slash or are empty, JSONPath starts with $ and supports names, quoted names and indexes
+    public static JsonPath compile(String expression) {
+        if (expression.startsWith("$")) {
+            return compilePath(expression);
+        }
+        return compilePointer(expression);
+    }
+
+    // RFC 6901, a token is matched as a key in objects and, when it is an array index, as that index in arrays
+    private static JsonPath compilePointer(String expression) {
+        if (!expression.isEmpty() && expression.charAt(0) != '/') {
+            throw invalid(expression, 0);
+        }
+        List<String> names = new ArrayList<>();
+        List<Integer> indexes = new ArrayList<>();
+        StringBuilder sb = new StringBuilder();
+        int i = 1;
+        while (i <= expression.length()) {
+            sb.setLength(0);
+            for (; i < expression.length() && expression.charAt(i) != '/'; ++i) {
+                char c = expression.charAt(i);
+                if (c == '~') {
+                    char next = i + 1 < expression.length() ? expression.charAt(i + 1) : 0;
+                    if (next != '0' && next != '1') {
+                        throw invalid(expression, i);
+                    }
+                    sb.append(next == '0' ? '~' : '/');
+                    i++;
+                } else {
+                    sb.append(c);
+                }
+            }
+            String name = sb.toString();
+            names.add(name);
+            indexes.add(arrayIndex(name));
+            i++;
+        }
+        return build(expression, names, indexes);
+    }
+
+    private static JsonPath compilePath(String expression) {
+        List<String> names = new ArrayList<>();
+        List<Integer> indexes = new ArrayList<>();
+        int length = expression.length();
+        int i = 1;
+        while (i < length) {
+            char c = expression.charAt(i);
+            if (c == '.') {
+                int start = ++i;
+                while (i < length && expression.charAt(i) != '.' && expression.charAt(i) != '[') {
+                    i++;
+                }
+                String name = expression.substring(start, i);
+                if (name.isEmpty() || name.equals("*")) {
+                    throw invalid(expression, start);
+                }
+                names.add(name);
+                indexes.add(-1);
+            } else if (c == '[' && i + 1 < length && (expression.charAt(i + 1) == '\'' || expression.charAt(i + 1) == '"')) {
+                char quote = expression.charAt(i + 1);
+                StringBuilder sb = new StringBuilder();
+                i += 2;
+                while (i < length && expression.charAt(i) != quote) {
+                    if (expression.charAt(i) == '\\' && i + 1 < length) {
+                        i++;
+                    }
+                    sb.append(expression.charAt(i++));
+                }
+                if (i + 1 >= length || expression.charAt(i + 1) != ']') {
+                    throw invalid(expression, Math.min(i + 1, length));
+                }
+                names.add(sb.toString());
+                indexes.add(-1);
+                i += 2;
+            } else if (c == '[') {
+                int start = ++i;
+                while (i < length && expression.charAt(i) != ']') {
+                    i++;
+                }
+                int index = arrayIndex(expression.substring(start, i));
+                if (index < 0 || i == length) {
+                    throw invalid(expression, start);
+                }
+                names.add(null);
+                indexes.add(index);
+                i++;
+            } else {
+                throw invalid(expression, i);
+            }
+        }
+        return build(expression, names, indexes);
+    }
+
+    private static JsonPath build(String expression, List<String> names, List<Integer> indexes) {
+        int[] indexArray = new int[indexes.size()];
+        for (int i = 0; i < indexArray.length; ++i) {
+            indexArray[i] = indexes.get(i);
+        }
+        return new JsonPath(expression, names.toArray(new String[0]), indexArray);
+    }
+
+    // Digits without a leading zero that fit an int, otherwise -1
+    private static int arrayIndex(String token) {
+        if (token.isEmpty() || token.length() > 10 || (token.length() > 1 && token.charAt(0) == '0')) {
+            return -1;
+        }
+        long value = 0;
+        for (int i = 0; i < token.length(); ++i) {
+            char c = token.charAt(i);
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+            value = value * 10 + (c - '0');
+        }
+        return value <= Integer.MAX_VALUE ? (int) value : -1;
+    }
+
+    private static IllegalArgumentException invalid(String expression, int position) {
+        return new IllegalArgumentException(String.format("Invalid JSON path \"%s\" at position %d.", expression, position));
+    }
+
+    // The value at this path in the tree, or null when there is none. Walks the existing nodes, nothing is copied.
+    public JsonObject find(JsonObject root) {
+        return find(root, 0);
+    }
+
+    // Resolves the steps from step on, starting at node
+    JsonObject find(JsonObject node, int step) {
+        for (; node != null && step < names.length; ++step) {
+            switch (node.getJsonType()) {
+                case Array: {
+                    List<JsonObject> list = node.getList();
+                    int index = indexes[step];
+                    node = index >= 0 && index < list.size() ? list.get(index) : null;
+                    break;
+                }
+                case Object:
+                    node = names[step] != null ? node.getObject().get(names[step]) : null;
+                    break;
+                default:
+                    node = null;
+            }
+        }
+        return node;
+    }
+
+    // The value at each path, or null where there is none, in one scan of input that builds only the matched values.
+    // Everything else is validated and skipped. For a repeated key the last occurrence wins, as it does in
+    // the tree from JsonObject.create, so the scan can not stop before the end of the input.
+    public static JsonObject[] extract(String input, JsonPath... paths) {
+        return JsonPathExtractor.extract(input, paths);
+    }
+
+    // Same as extract on a String, for the value starting at the reader's current token.
+    // The whole value is read, leaving the reader on its last token like readTree, so the reader can go on.
+    public static JsonObject[] extract(JsonReader reader, JsonPath... paths) {
+        return JsonPathExtractor.extract(reader, paths);
+    }
+
+    int length() {
+        return names.length;
+    }
+
+    String name(int step) {
+        return names[step];
+    }
+
+    int index(int step) {
+        return indexes[step];
+    }
+
+    @Override
+    public String toString() {
+        return expression;
+    }
+}
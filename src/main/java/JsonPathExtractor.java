@@ -0,0 +1,231 @@
+// One scan over raw input for a set of paths. A value is only built when some path ends at it,
+// containers are entered when a path goes through one of their children and everything else is skipped.
+// A repeated key replaces what an earlier one matched, the last occurrence wins as in the parsed tree,
+// so the scan always runs to the end of the input.
+class JsonPathExtractor {
+    private final JsonPath[] paths;
+    private final JsonObject[] results;
+    // Steps of each path matched by the route to the current value
+    private final int[] matched;
+    private String input;
+    private JsonParser parser;
+    private JsonReader reader;
+
+    private JsonPathExtractor(JsonPath[] paths) {
+        this.paths = paths;
+        this.results = new JsonObject[paths.length];
+        this.matched = new int[paths.length];
+    }
+
+    static JsonObject[] extract(String input, JsonPath[] paths) {
+        JsonPathExtractor extractor = new JsonPathExtractor(paths);
+        extractor.input = input;
+        extractor.parser = new JsonParser();
+        extractor.parser.reset(input, 0);
+        try {
+            extractor.scanValue(0);
+            if (extractor.parser.position() != input.length()) {
+                throw new JsonObject.JsonParseException("Redundant component", extractor.parser.position());
+            }
+        } catch (JsonObject.JsonParseException e) {
+            throw JsonSyntaxException.of(e, input, true);
+        }
+        return extractor.results;
+    }
+
+    static JsonObject[] extract(JsonReader reader, JsonPath[] paths) {
+        JsonPathExtractor extractor = new JsonPathExtractor(paths);
+        extractor.reader = reader;
+        extractor.readValue(0);
+        return extractor.results;
+    }
+
+    // A path ends at the current value, so it is built and every live path is resolved on it
+    private void complete(int depth, JsonObject value) {
+        for (int p = 0; p < paths.length; ++p) {
+            if (matched[p] == depth && results[p] == null) {
+                results[p] = paths[p].find(value, depth);
+            }
+        }
+    }
+
+    private boolean endsHere(int depth) {
+        for (int p = 0; p < paths.length; ++p) {
+            if (matched[p] == depth && paths[p].length() == depth) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // Marks the live paths whose next step is this key, returns whether there were any.
+    // What they matched under an earlier occurrence of the key is dropped.
+    private boolean matchName(int depth, int keyStart, int keyEnd) throws JsonObject.JsonParseException {
+        boolean any = false;
+        for (int p = 0; p < paths.length; ++p) {
+            String name;
+            if (matched[p] == depth && paths[p].length() > depth && (name = paths[p].name(depth)) != null
+                    && keyEquals(keyStart, keyEnd, name)) {
+                matched[p] = depth + 1;
+                results[p] = null;
+                any = true;
+            }
+        }
+        return any;
+    }
+
+    private boolean matchName(int depth, String key) {
+        boolean any = false;
+        for (int p = 0; p < paths.length; ++p) {
+            if (matched[p] == depth && paths[p].length() > depth && key.equals(paths[p].name(depth))) {
+                matched[p] = depth + 1;
+                results[p] = null;
+                any = true;
+            }
+        }
+        return any;
+    }
+
+    private boolean matchIndex(int depth, int index) {
+        boolean any = false;
+        for (int p = 0; p < paths.length; ++p) {
+            if (matched[p] == depth && paths[p].length() > depth && paths[p].index(depth) == index) {
+                matched[p] = depth + 1;
+                any = true;
+            }
+        }
+        return any;
+    }
+
+    // Steps the paths that went into a child back out of it
+    private void unmatch(int depth) {
+        for (int p = 0; p < paths.length; ++p) {
+            if (matched[p] == depth + 1) {
+                matched[p] = depth;
+            }
+        }
+    }
+
+    // Compared in place unless the key has escapes, from its opening quote to just past its closing one
+    private boolean keyEquals(int keyStart, int keyEnd, String name) throws JsonObject.JsonParseException {
+        for (int i = keyStart + 1; i < keyEnd - 1; ++i) {
+            if (input.charAt(i) == '\\') {
+                int position = parser.position();
+                parser.reset(input, keyStart);
+                boolean equal = parser.parseString(null).equals(name);
+                parser.reset(input, position);
+                return equal;
+            }
+        }
+        return keyEnd - keyStart - 2 == name.length() && input.regionMatches(keyStart + 1, name, 0, name.length());
+    }
+
+    // The parser is on the value with whitespace around it, at least one live path goes through it
+    private void scanValue(int depth) throws JsonObject.JsonParseException {
+        parser.skipWhitespace();
+        if (endsHere(depth)) {
+            complete(depth, parser.parseValueBody());
+        } else {
+            switch (parser.current()) {
+                case '[':
+                    scanList(depth);
+                    break;
+                case '{':
+                    scanObject(depth);
+                    break;
+                default:
+                    // Live paths go deeper than a scalar
+                    parser.skipValueBody();
+            }
+        }
+        parser.skipWhitespace();
+    }
+
+    private void scanList(int depth) throws JsonObject.JsonParseException {
+        parser.advance();
+        parser.skipWhitespace();
+        if (parser.current() != ']') {
+            for (int index = 0; ; ++index) {
+                if (matchIndex(depth, index)) {
+                    scanValue(depth + 1);
+                    unmatch(depth);
+                } else {
+                    parser.skipWhitespace();
+                    parser.skipValueBody();
+                    parser.skipWhitespace();
+                }
+                char c = parser.current();
+                if (c == ']') {
+                    break;
+                } else if (c != ',') {
+                    throw new JsonObject.JsonParseException("Missing comma in list", parser.position());
+                }
+                parser.advance();
+            }
+        }
+        parser.advance();
+    }
+
+    private void scanObject(int depth) throws JsonObject.JsonParseException {
+        parser.advance();
+        parser.skipWhitespace();
+        if (parser.current() != '}') {
+            while (true) {
+                parser.skipWhitespace();
+                int keyStart = parser.position();
+                parser.skipString();
+                int keyEnd = parser.position();
+                parser.skipWhitespace();
+                if (parser.current() != ':') {
+                    throw new JsonObject.JsonParseException("Missing colon in object", parser.position());
+                }
+                parser.advance();
+                if (matchName(depth, keyStart, keyEnd)) {
+                    scanValue(depth + 1);
+                    unmatch(depth);
+                } else {
+                    parser.skipWhitespace();
+                    parser.skipValueBody();
+                    parser.skipWhitespace();
+                }
+                char c = parser.current();
+                if (c == '}') {
+                    break;
+                } else if (c != ',') {
+                    throw new JsonObject.JsonParseException("Missing comma in object", parser.position());
+                }
+                parser.advance();
+            }
+        }
+        parser.advance();
+    }
+
+    // The reader is on the first token of the value, and is left on its last
+    private void readValue(int depth) {
+        if (endsHere(depth)) {
+            complete(depth, reader.readTree());
+            return;
+        }
+        JsonToken token = reader.getToken();
+        if (token == JsonToken.StartArray) {
+            for (int index = 0; reader.next() != JsonToken.EndArray; ++index) {
+                readChild(depth, matchIndex(depth, index));
+            }
+        } else if (token == JsonToken.StartObject) {
+            while (reader.next() != JsonToken.EndObject) {
+                boolean any = matchName(depth, reader.getFieldName());
+                reader.next();
+                readChild(depth, any);
+            }
+        }
+    }
+
+    private void readChild(int depth, boolean any) {
+        if (any) {
+            readValue(depth + 1);
+            unmatch(depth);
+        } else {
+            reader.skipChildren();
+        }
+    }
+}
@@ -0,0 +1,569 @@
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.StringReader;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// Pull parser reading one token at a time from a fixed size buffer.
+// Accepts exactly the same grammar as JsonObject.create and reports the same error types.
+@SuppressWarnings("unused")
+public class JsonReader implements Closeable {
+    private static final int BUFFER_SIZE = 8192;
+
+    private static final int EMPTY_DOCUMENT = 0;
+    private static final int NONEMPTY_DOCUMENT = 1;
+    private static final int EMPTY_ARRAY = 2;
+    private static final int NONEMPTY_ARRAY = 3;
+    private static final int EMPTY_OBJECT = 4;
+    private static final int DANGLING_NAME = 5;
+    private static final int NONEMPTY_OBJECT = 6;
+
+    private final Reader reader;
+    private final char[] buffer = new char[BUFFER_SIZE];
+    private int position;
+    private int limit;
+    // Number of characters consumed before buffer[0]
+    private long offset;
+    // Line breaks consumed before buffer[0] and the offset just past the last of them, only used for errors
+    private long lines;
+    private long lineStart;
+
+    private int[] scopes = new int[32];
+    private int depth;
+
+    private final StringBuilder scratch = new StringBuilder();
+    private JsonToken token;
+    private String text;
+    private boolean skipping;
+    private JsonSymbolTable symbols;
+    private boolean lineDelimited;
+
+    public JsonReader(Reader reader) {
+        this.reader = reader;
+        scopes[depth++] = EMPTY_DOCUMENT;
+    }
+
+    public JsonReader(String input) {
+        this(new StringReader(input));
+    }
+
+    // UTF-8 input, decoded chunk by chunk into the buffer
+    public JsonReader(InputStream input) {
+        this(new InputStreamReader(input, StandardCharsets.UTF_8));
+    }
+
+    // UTF-8 input, consumed from its position to its limit
+    public JsonReader(ByteBuffer input) {
+        this(new ByteBufferReader(input));
+    }
+
+    // UTF-8 file, memory mapped and decoded in place, close releases the file
+    public JsonReader(Path path) {
+        this(openMapped(path));
+    }
+
+    private static Reader openMapped(Path path) {
+        try {
+            return new MappedFileReader(path);
+        } catch (IOException e) {
+            throw new JsonIOException("Read Error - " + e.getMessage(), e);
+        }
+    }
+
+    public JsonToken next() {
+        if (lineDelimited && depth == 1) {
+            return token = nextLine();
+        }
+        int c = nextNonWhitespace();
+        switch (scopes[depth - 1]) {
+            case EMPTY_DOCUMENT:
+                scopes[depth - 1] = NONEMPTY_DOCUMENT;
+                return token = readValue(c);
+            case NONEMPTY_DOCUMENT:
+                if (c == -1) {
+                    return token = JsonToken.EndDocument;
+                }
+                throw error("Redundant component");
+            case EMPTY_ARRAY:
+                if (c == ']') {
+                    return token = endScope(JsonToken.EndArray);
+                }
+                scopes[depth - 1] = NONEMPTY_ARRAY;
+                return token = readValue(c);
+            case NONEMPTY_ARRAY:
+                if (c == ']') {
+                    return token = endScope(JsonToken.EndArray);
+                } else if (c == ',') {
+                    position++;
+                    return token = readValue(nextNonWhitespace());
+                } else if (c == -1) {
+                    throw overflow();
+                }
+                throw error("Missing comma in list");
+            case EMPTY_OBJECT:
+                if (c == '}') {
+                    return token = endScope(JsonToken.EndObject);
+                }
+                scopes[depth - 1] = DANGLING_NAME;
+                return token = readName(c);
+            case NONEMPTY_OBJECT:
+                if (c == '}') {
+                    return token = endScope(JsonToken.EndObject);
+                } else if (c == ',') {
+                    position++;
+                    scopes[depth - 1] = DANGLING_NAME;
+                    return token = readName(nextNonWhitespace());
+                } else if (c == -1) {
+                    throw overflow();
+                }
+                throw error("Missing comma in object");
+            case DANGLING_NAME:
+                if (c != ':') {
+                    if (c == -1) {
+                        throw overflow();
+                    }
+                    throw error("Missing colon in object");
+                }
+                position++;
+                scopes[depth - 1] = NONEMPTY_OBJECT;
+                return token = readValue(nextNonWhitespace());
+            default:
+                throw new JsonIOException("Read Error - Invalid reader state.");
+        }
+    }
+
+    // Reads one top-level value per line instead of a single document, EndDocument comes at the end of input
+    public void setLineDelimited(boolean lineDelimited) {
+        this.lineDelimited = lineDelimited;
+    }
+
+    // Field names are canonicalized through symbols, which may be shared between threads and readers
+    public void setSymbolTable(JsonSymbolTable symbols) {
+        this.symbols = symbols;
+    }
+
+    public JsonToken getToken() {
+        return token;
+    }
+
+    // Skips the object or array started by the current token, leaving the reader on its end token.
+    // Names and values inside are validated but never materialized.
+    public void skipChildren() {
+        if (token != JsonToken.StartObject && token != JsonToken.StartArray) {
+            return;
+        }
+        int target = depth - 1;
+        skipping = true;
+        try {
+            while (depth > target) {
+                next();
+            }
+        } finally {
+            skipping = false;
+        }
+    }
+
+    // Builds a JsonObject from the value starting at the current token.
+    public JsonObject readTree() {
+        switch (token) {
+            case ValueNull:
+                return JsonObject.NULL;
+            case ValueTrue:
+                return JsonObject.TRUE;
+            case ValueFalse:
+                return JsonObject.FALSE;
+            case ValueNumber:
+                return JsonObject.valueOf(getNumber());
+            case ValueString:
+                return new JsonObject(text);
+            case StartArray: {
+                List<JsonObject> list = new ArrayList<>();
+                while (next() != JsonToken.EndArray) {
+                    list.add(readTree());
+                }
+                return new JsonObject(list);
+            }
+            case StartObject: {
+                Map<String, JsonObject> map = new LinkedHashMap<>();
+                while (next() != JsonToken.EndObject) {
+                    String key = text;
+                    next();
+                    map.put(key, readTree());
+                }
+                return new JsonObject(map);
+            }
+            default:
+                throw new JsonIOException(String.format("Read Error - Token %s does not start a value.", token));
+        }
+    }
+
+    public String getFieldName() {
+        expect(JsonToken.FieldName);
+        return text;
+    }
+
+    public String getString() {
+        expect(JsonToken.ValueString);
+        return text;
+    }
+
+    public boolean getBool() {
+        if (token != JsonToken.ValueTrue && token != JsonToken.ValueFalse) {
+            throw new JsonIOException(String.format("Read Error - Current token is %s, expected a boolean.", token));
+        }
+        return token == JsonToken.ValueTrue;
+    }
+
+    public int getInt() {
+        return getNumber().intValue();
+    }
+
+    public long getLong() {
+        return getNumber().longValue();
+    }
+
+    public float getFloat() {
+        return getNumber().floatValue();
+    }
+
+    public double getDouble() {
+        return getNumber().doubleValue();
+    }
+
+    public JsonNumber getNumber() {
+        expect(JsonToken.ValueNumber);
+        return JsonNumber.parse(scratch, 0, scratch.length());
+    }
+
+    public long getPosition() {
+        return offset + position;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    private void expect(JsonToken expected) {
+        if (token != expected) {
+            throw new JsonIOException(String.format("Read Error - Current token is %s, expected %s.", token, expected));
+        }
+    }
+
+    private JsonToken endScope(JsonToken end) {
+        position++;
+        depth--;
+        return end;
+    }
+
+    private void pushScope(int scope) {
+        if (depth == scopes.length) {
+            scopes = Arrays.copyOf(scopes, depth * 2);
+        }
+        scopes[depth++] = scope;
+    }
+
+    // Only called once the buffer is fully consumed, at the end of input the last chunk is kept for error messages
+    private boolean fill() {
+        try {
+            int count;
+            do {
+                count = reader.read(buffer, 0, buffer.length);
+            } while (count == 0);
+            if (count == -1) {
+                return false;
+            }
+            for (int i = 0; i < limit; ++i) {
+                if (buffer[i] == '\n') {
+                    lines++;
+                    lineStart = offset + i + 1;
+                }
+            }
+            offset += limit;
+            position = 0;
+            limit = count;
+            return true;
+        } catch (IOException e) {
+            throw new JsonIOException("Read Error - " + e.getMessage(), e);
+        }
+    }
+
+    private int peek() {
+        if (position == limit && !fill()) {
+            return -1;
+        }
+        return buffer[position];
+    }
+
+    private char require() {
+        if (position == limit && !fill()) {
+            throw overflow();
+        }
+        return buffer[position];
+    }
+
+    private int nextNonWhitespace() {
+        while (true) {
+            if (position == limit && !fill()) {
+                return -1;
+            }
+            char c = buffer[position];
+            if (c == ' ' || c == '\n' || c == '\r' || c == '\t') {
+                position++;
+            } else {
+                return c;
+            }
+        }
+    }
+
+    // Every value after the first has to start on a new line, blank lines are skipped
+    private JsonToken nextLine() {
+        boolean newLine = scopes[0] == EMPTY_DOCUMENT;
+        while (true) {
+            if (position == limit && !fill()) {
+                return JsonToken.EndDocument;
+            }
+            char c = buffer[position];
+            if (c == '\n') {
+                newLine = true;
+            } else if (c != ' ' && c != '\r' && c != '\t') {
+                break;
+            }
+            position++;
+        }
+        if (!newLine) {
+            throw error("Redundant component");
+        }
+        scopes[0] = NONEMPTY_DOCUMENT;
+        return readValue(buffer[position]);
+    }
+
+    private JsonToken readValue(int c) {
+        switch (c) {
+            case 'n':
+                readLiteral("null", "Invalid null node");
+                return JsonToken.ValueNull;
+            case 't':
+                readLiteral("true", "Invalid true node");
+                return JsonToken.ValueTrue;
+            case 'f':
+                readLiteral("false", "Invalid false node");
+                return JsonToken.ValueFalse;
+            case '"':
+                readString(null);
+                return JsonToken.ValueString;
+            case '[':
+                position++;
+                pushScope(EMPTY_ARRAY);
+                return JsonToken.StartArray;
+            case '{':
+                position++;
+                pushScope(EMPTY_OBJECT);
+                return JsonToken.StartObject;
+            case -1:
+                throw overflow();
+            default:
+                if (c == '-' || (c >= '0' && c <= '9')) {
+                    readNumber();
+                    return JsonToken.ValueNumber;
+                }
+                throw error("Read type error");
+        }
+    }
+
+    private JsonToken readName(int c) {
+        if (c != '"') {
+            if (c == -1) {
+                throw overflow();
+            }
+            throw error("Invalid string");
+        }
+        readString(symbols);
+        return JsonToken.FieldName;
+    }
+
+    private void readLiteral(String literal, String errorType) {
+        for (int i = 0; i < literal.length(); ++i) {
+            if (require() != literal.charAt(i)) {
+                throw error(errorType);
+            }
+            position++;
+        }
+    }
+
+    private void readString(JsonSymbolTable symbols) {
+        position++;
+        scratch.setLength(0);
+        boolean buffered = false;
+        int start = position;
+        while (true) {
+            if (position == limit) {
+                if (!skipping) {
+                    scratch.append(buffer, start, position - start);
+                }
+                buffered = true;
+                require();
+                start = position;
+            }
+            char c = buffer[position];
+            if (c == '"') {
+                if (!skipping) {
+                    if (buffered) {
+                        text = scratch.append(buffer, start, position - start).toString();
+                    } else if (symbols != null) {
+                        text = symbols.lookup(buffer, start, position);
+                    } else {
+                        text = new String(buffer, start, position - start);
+                    }
+                }
+                position++;
+                return;
+            } else if (c == '\\') {
+                if (!skipping) {
+                    scratch.append(buffer, start, position - start);
+                }
+                buffered = true;
+                position++;
+                char escaped = readEscaped();
+                if (!skipping) {
+                    scratch.append(escaped);
+                }
+                start = position;
+            } else {
+                position++;
+            }
+        }
+    }
+
+    private char readEscaped() {
+        char result;
+        switch (require()) {
+            case '"':
+                result = '"';
+                break;
+            case '\\':
+                result = '\\';
+                break;
+            case '/':
+                result = '/';
+                break;
+            case 'b':
+                result = '\b';
+                break;
+            case 'f':
+                result = '\f';
+                break;
+            case 'n':
+                result = '\n';
+                break;
+            case 'r':
+                result = '\r';
+                break;
+            case 't':
+                result = '\t';
+                break;
+            case 'u': {
+                int value = 0;
+                for (int i = 0; i < 4; ++i) {
+                    position++;
+                    // End of input inside the escape is reported like a bad digit, as JsonParser does
+                    int c = peek();
+                    int digit = c < 0 ? -1 : JsonParser.hexValue((char) c);
+                    if (digit < 0) {
+                        throw error("Invalid Unicode escaped character");
+                    }
+                    value = (value << 4) + digit;
+                }
+                result = (char) value;
+                break;
+            }
+            default:
+                throw error("Invalid escaped character");
+        }
+        position++;
+        return result;
+    }
+
+    private void readNumber() {
+        scratch.setLength(0);
+
+        // Integer Part
+        // Leading zeros are allowed
+        if (peek() == '-') {
+            take();
+        }
+        if (!isDigit(peek())) {
+            throw error("Incomplete number");
+        }
+        while (isDigit(peek())) {
+            take();
+        }
+
+        // Fraction Part
+        if (peek() == '.') {
+            take();
+            if (!isDigit(peek())) {
+                throw error("Incomplete fraction");
+            }
+            while (isDigit(peek())) {
+                take();
+            }
+        }
+
+        // Exponent Part
+        if (peek() == 'e' || peek() == 'E') {
+            take();
+            if (peek() == '+' || peek() == '-') {
+                take();
+            }
+            if (!isDigit(peek())) {
+                throw error("Incomplete exponent");
+            }
+            while (isDigit(peek())) {
+                take();
+            }
+        }
+    }
+
+    private static boolean isDigit(int c) {
+        return c >= '0' && c <= '9';
+    }
+
+    private void take() {
+        if (!skipping) {
+            scratch.append(buffer[position]);
+        }
+        position++;
+    }
+
+    private JsonSyntaxException overflow() {
+        return syntaxError("Index overflow", null);
+    }
+
+    private JsonSyntaxException error(String errorType) {
+        int nearStart = Math.max(position - 3, 0);
+        int nearEnd = Math.min(position + 4, limit);
+        return syntaxError(errorType, new String(buffer, nearStart, nearEnd - nearStart));
+    }
+
+    private JsonSyntaxException syntaxError(String errorType, String near) {
+        long line = lines + 1;
+        long start = lineStart;
+        for (int i = 0; i < position; ++i) {
+            if (buffer[i] == '\n') {
+                line++;
+                start = offset + i + 1;
+            }
+        }
+        return new JsonSyntaxException(errorType, offset + position, line, offset + position - start + 1, near, true);
+    }
+}
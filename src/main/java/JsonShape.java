@@ -0,0 +1,136 @@
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+// Decoder specialized for documents shaped like a sample: objects with the same keys in the same order,
+// arrays whose elements are shaped like the sample's first element. Expected keys are compared in place and
+// values go into fixed slots of a JsonCompactMap sharing its keys with every other object of the shape.
+// An object that differs from the shape in any way is parsed again from its start by the generic parser,
+// so any valid input gives the same tree as JsonObject.create. Immutable, share one instance between threads.
+public abstract class JsonShape {
+    // Scalars, and values of a type the sample did not have, are parsed by the generic parser
+    private static final JsonShape ANY = new JsonShape() {
+        @Override
+        JsonObject read(JsonParser parser) throws JsonObject.JsonParseException {
+            return parser.parseValueBody();
+        }
+    };
+
+    JsonShape() {
+    }
+
+    public static JsonShape of(JsonObject sample) {
+        switch (sample.getJsonType()) {
+            case Array:
+                List<JsonObject> list = sample.getList();
+                return new ArrayShape(list.isEmpty() ? ANY : of(list.get(0)));
+            case Object:
+                return new ObjectShape(sample.getObject());
+            default:
+                return ANY;
+        }
+    }
+
+    public JsonObject parse(String input) {
+        return JsonParser.local(null, false).parse(input, this);
+    }
+
+    // The parser is on the value's first char and is left just past its last
+    abstract JsonObject read(JsonParser parser) throws JsonObject.JsonParseException;
+
+    // The parser is on whitespace or the value's first char
+    static JsonObject readElement(JsonParser parser, JsonShape shape) throws JsonObject.JsonParseException {
+        parser.skipWhitespace();
+        JsonObject value = shape.read(parser);
+        parser.skipWhitespace();
+        return value;
+    }
+
+    private static class ObjectShape extends JsonShape {
+        private final String[] keys;
+        private final int[] index;
+        private final JsonShape[] values;
+
+        ObjectShape(Map<String, JsonObject> sample) {
+            keys = sample.keySet().toArray(new String[0]);
+            index = JsonCompactMap.indexFor(keys);
+            values = new JsonShape[keys.length];
+            int i = 0;
+            for (JsonObject value : sample.values()) {
+                values[i++] = of(value);
+            }
+        }
+
+        @Override
+        JsonObject read(JsonParser parser) throws JsonObject.JsonParseException {
+            int start = parser.position();
+            if (parser.current() != '{') {
+                return parser.parseValueBody();
+            }
+            parser.advance();
+            parser.skipWhitespace();
+            JsonObject[] slots = new JsonObject[keys.length];
+            for (int i = 0; i < keys.length; ++i) {
+                if (i > 0) {
+                    if (parser.current() != ',') {
+                        return fallback(parser, start);
+                    }
+                    parser.advance();
+                    parser.skipWhitespace();
+                }
+                if (parser.current() != '"' || parser.parseKey(keys, i) != i) {
+                    return fallback(parser, start);
+                }
+                parser.skipWhitespace();
+                if (parser.current() != ':') {
+                    return fallback(parser, start);
+                }
+                parser.advance();
+                slots[i] = readElement(parser, values[i]);
+            }
+            if (parser.current() != '}') {
+                return fallback(parser, start);
+            }
+            parser.advance();
+            return new JsonObject(new JsonCompactMap(keys, index, slots));
+        }
+
+        // Keys missing, added or reordered, or malformed input the generic parser reports the error for
+        private static JsonObject fallback(JsonParser parser, int start) throws JsonObject.JsonParseException {
+            parser.seek(start);
+            return parser.parseValueBody();
+        }
+    }
+
+    private static class ArrayShape extends JsonShape {
+        private final JsonShape element;
+
+        ArrayShape(JsonShape element) {
+            this.element = element;
+        }
+
+        @Override
+        JsonObject read(JsonParser parser) throws JsonObject.JsonParseException {
+            if (parser.current() != '[') {
+                return parser.parseValueBody();
+            }
+            List<JsonObject> list = new ArrayList<>();
+            parser.advance();
+            parser.skipWhitespace();
+            if (parser.current() != ']') {
+                while (true) {
+                    list.add(readElement(parser, element));
+                    char c = parser.current();
+                    if (c == ']') {
+                        break;
+                    } else if (c != ',') {
+                        throw new JsonObject.JsonParseException("Missing comma in list", parser.position());
+                    }
+                    parser.advance();
+                }
+            }
+            parser.advance();
+            return new JsonObject(list);
+        }
+    }
+}
@@ -0,0 +1,72 @@
+// Bounded cache canonicalizing object keys, a key already in the table is returned without allocating.
+// Safe to share between threads, slots hold immutable Strings and losing a race only costs one extra copy.
+public class JsonSymbolTable {
+    private static final int DEFAULT_CAPACITY = 1024;
+    // Longer keys are rarely repeated verbatim and are not worth comparing
+    private static final int MAX_SYMBOL_LENGTH = 64;
+
+    private final String[] symbols;
+    private final int mask;
+
+    public JsonSymbolTable() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public JsonSymbolTable(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Symbol table capacity must be positive.");
+        }
+        int size = Integer.highestOneBit(Math.min(capacity, 1 << 30));
+        if (size < capacity) {
+            size <<= 1;
+        }
+        symbols = new String[size];
+        mask = size - 1;
+    }
+
+    public String lookup(String input, int start, int end) {
+        int length = end - start;
+        if (length > MAX_SYMBOL_LENGTH) {
+            return input.substring(start, end);
+        }
+        // Same hash as String.hashCode, so the canonical String caches the one computed here
+        int hash = 0;
+        for (int i = start; i < end; ++i) {
+            hash = 31 * hash + input.charAt(i);
+        }
+        int slot = (hash ^ (hash >>> 16)) & mask;
+        String symbol = symbols[slot];
+        if (symbol != null && symbol.hashCode() == hash && symbol.length() == length
+                && symbol.regionMatches(0, input, start, length)) {
+            return symbol;
+        }
+        symbol = input.substring(start, end);
+        symbols[slot] = symbol;
+        return symbol;
+    }
+
+    public String lookup(char[] input, int start, int end) {
+        int length = end - start;
+        if (length > MAX_SYMBOL_LENGTH) {
+            return new String(input, start, length);
+        }
+        int hash = 0;
+        for (int i = start; i < end; ++i) {
+            hash = 31 * hash + input[i];
+        }
+        int slot = (hash ^ (hash >>> 16)) & mask;
+        String symbol = symbols[slot];
+        if (symbol != null && symbol.hashCode() == hash && symbol.length() == length) {
+            int i = 0;
+            while (i < length && symbol.charAt(i) == input[start + i]) {
+                i++;
+            }
+            if (i == length) {
+                return symbol;
+            }
+        }
+        symbol = new String(input, start, length);
+        symbols[slot] = symbol;
+        return symbol;
+    }
+}
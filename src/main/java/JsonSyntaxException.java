@@ -0,0 +1,61 @@
+// Malformed input, with the offset where parsing stopped, its line and column (both from 1) and the characters around it.
+// The input itself is never copied into the exception and the message is only formatted when asked for.
+public class JsonSyntaxException extends JsonIOException {
+    private final String errorType;
+    private final long position;
+    private final long line;
+    private final long column;
+    // Null when the input ended before the value did
+    private final String near;
+
+    JsonSyntaxException(String errorType, long position, long line, long column, String near, boolean writableStackTrace) {
+        super(null, null, false, writableStackTrace);
+        this.errorType = errorType;
+        this.position = position;
+        this.line = line;
+        this.column = column;
+        this.near = near;
+    }
+
+    static JsonSyntaxException of(JsonObject.JsonParseException e, String source, boolean writableStackTrace) {
+        int position = Math.min(Math.max(e.position, 0), source.length());
+        long line = 1;
+        int lineStart = 0;
+        for (int i = 0; i < position; ++i) {
+            if (source.charAt(i) == '\n') {
+                line++;
+                lineStart = i + 1;
+            }
+        }
+        String near = e.overflow ? null : source.substring(Math.max(position - 3, 0), Math.min(position + 4, source.length()));
+        return new JsonSyntaxException(e.errorType, position, line, position - lineStart + 1, near, writableStackTrace);
+    }
+
+    @Override
+    public String getMessage() {
+        if (near == null) {
+            return String.format("Parse Error - %s.", errorType);
+        }
+        return String.format("Parse Error - %s at position %d near \"%s\".", errorType, position, near);
+    }
+
+    public String getErrorType() {
+        return errorType;
+    }
+
+    public long getPosition() {
+        return position;
+    }
+
+    public long getLine() {
+        return line;
+    }
+
+    public long getColumn() {
+        return column;
+    }
+
+    public String getNear() {
+        return near;
+    }
+}
@@ -0,0 +1,13 @@
+public enum JsonToken {
+    StartObject,
+    EndObject,
+    StartArray,
+    EndArray,
+    FieldName,
+    ValueNull,
+    ValueTrue,
+    ValueFalse,
+    ValueNumber,
+    ValueString,
+    EndDocument,
+}
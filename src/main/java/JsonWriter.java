@@ -0,0 +1,444 @@
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Writer;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+// Serializes into a fixed size char buffer that is flushed to the sink whenever it fills up,
+// so memory use does not grow with the document. Without a sink, writeToString and appendTo append
+// straight to a StringBuilder. An instance can be retargeted with reset and reused for any number of
+// documents, but not by two threads at once.
+public class JsonWriter {
+    private static final int BUFFER_SIZE = 8192;
+    // The builder behind writeToString is not kept once one large document grew it past this
+    private static final int MAX_RETAINED_BUILDER = 1 << 20;
+    // Longest escape sequence written for a single char
+    private static final int MAX_ESCAPE_LENGTH = 6;
+    private static final int KEY_CACHE_SIZE = 256;
+    private static final int MAX_CACHED_KEY_LENGTH = 32;
+    private static final ThreadLocal<JsonWriter> POOL = ThreadLocal.withInitial(JsonWriter::new);
+    private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+    // Escape sequence of every ASCII char that needs one, null for the rest
+    private static final String[] ESCAPES = new String[128];
+
+    static {
+        for (char c = 0; c < ' '; ++c) {
+            ESCAPES[c] = "\\u00" + HEX_DIGITS[c >> 4] + HEX_DIGITS[c & 0xF];
+        }
+        ESCAPES['"'] = "\\\"";
+        ESCAPES['\\'] = "\\\\";
+        ESCAPES['\b'] = "\\b";
+        ESCAPES['\f'] = "\\f";
+        ESCAPES['\n'] = "\\n";
+        ESCAPES['\r'] = "\\r";
+        ESCAPES['\t'] = "\\t";
+    }
+
+    private Writer writer;
+    private OutputStream output;
+    private char[] buffer;
+    private byte[] bytes;
+    private int count;
+    // Target of writeToString and appendTo, output goes here instead of the buffer while set
+    private StringBuilder builder;
+    private StringBuilder scratch;
+    private boolean acquired;
+    private boolean asciiOnly;
+    // Keys by hash slot, and their escaped form once they have been seen twice
+    private String[] cachedKeys;
+    private char[][] escapedKeys;
+
+    public JsonWriter() {
+    }
+
+    public JsonWriter(Writer writer) {
+        reset(writer);
+    }
+
+    // Encodes UTF-8
+    public JsonWriter(OutputStream output) {
+        reset(output);
+    }
+
+    // JsonObject.toString and writeTo borrow the calling thread's writer, a nested call gets a fresh one
+    static JsonWriter acquire() {
+        JsonWriter writer = POOL.get();
+        if (writer.acquired) {
+            return new JsonWriter();
+        }
+        writer.acquired = true;
+        return writer;
+    }
+
+    void release() {
+        reset();
+        setAsciiOnly(false);
+        acquired = false;
+    }
+
+    // Chars past ASCII are written as Unicode escapes, so the output is 7-bit clean and a stream sink gets the
+    // chars as bytes without going through the UTF-8 encoder
+    public void setAsciiOnly(boolean asciiOnly) {
+        if (this.asciiOnly != asciiOnly && cachedKeys != null) {
+            // The cached keys were escaped for the other mode
+            Arrays.fill(cachedKeys, null);
+            Arrays.fill(escapedKeys, null);
+        }
+        this.asciiOnly = asciiOnly;
+    }
+
+    // Drops the sink and anything still buffered for it
+    public void reset() {
+        writer = null;
+        output = null;
+        builder = null;
+        count = 0;
+    }
+
+    public void reset(Writer writer) {
+        reset();
+        this.writer = writer;
+        if (buffer == null) {
+            buffer = new char[BUFFER_SIZE];
+        }
+    }
+
+    public void reset(OutputStream output) {
+        reset();
+        this.output = output;
+        if (buffer == null) {
+            buffer = new char[BUFFER_SIZE];
+        }
+        if (bytes == null) {
+            bytes = new byte[BUFFER_SIZE * 3];
+        }
+    }
+
+    // Serializes into a builder that is kept for the next call, the returned String is the only copy made
+    public String writeToString(JsonObject value) {
+        return writeToString(value, false);
+    }
+
+    // Serializes a bound Java value without building its tree, the same text as writeToString(JsonObject.from(value))
+    String writeBoundToString(Object value) {
+        return writeToString(value, true);
+    }
+
+    private String writeToString(Object value, boolean bound) {
+        if (scratch == null) {
+            scratch = new StringBuilder();
+        }
+        try {
+            if (bound) {
+                builder = scratch;
+                JsonCodec.writeAny(this, value);
+            } else {
+                appendTo((JsonObject) value, scratch);
+            }
+            return scratch.toString();
+        } catch (IOException e) {
+            throw new JsonIOException("Write Error - " + e.getMessage(), e);
+        } finally {
+            builder = null;
+            if (scratch.capacity() > MAX_RETAINED_BUILDER) {
+                scratch = null;
+            } else {
+                scratch.setLength(0);
+            }
+        }
+    }
+
+    public void appendTo(JsonObject value, StringBuilder sb) {
+        if (writer != null || output != null) {
+            throw new JsonIOException("Write Error - Writer has a sink, use write instead.");
+        }
+        try {
+            builder = sb;
+            writeValue(value);
+        } catch (IOException e) {
+            throw new JsonIOException("Write Error - " + e.getMessage(), e);
+        } finally {
+            builder = null;
+        }
+    }
+
+    public void write(JsonObject value) {
+        requireSink();
+        try {
+            writeValue(value);
+        } catch (IOException e) {
+            throw new JsonIOException("Write Error - " + e.getMessage(), e);
+        }
+        flush();
+    }
+
+    // Appends the value and a line break, both stay buffered until the buffer fills up or flush is called
+    public void writeLine(JsonObject value) {
+        requireSink();
+        try {
+            writeValue(value);
+            write('\n');
+        } catch (IOException e) {
+            throw new JsonIOException("Write Error - " + e.getMessage(), e);
+        }
+    }
+
+    public void flush() {
+        requireSink();
+        try {
+            flushBuffer(true);
+            if (writer != null) {
+                writer.flush();
+            } else {
+                output.flush();
+            }
+        } catch (IOException e) {
+            throw new JsonIOException("Write Error - " + e.getMessage(), e);
+        }
+    }
+
+    private void requireSink() {
+        if (writer == null && output == null) {
+            throw new JsonIOException("Write Error - Writer has no sink, use writeToString instead.");
+        }
+    }
+
+    void writeValue(JsonObject value) throws IOException {
+        switch (value.getJsonType()) {
+            case Null:
+                write("null");
+                break;
+            case Boolean:
+                write(value.getBool() ? "true" : "false");
+                break;
+            case Number:
+                write(value.getNumber().toString());
+                break;
+            case String:
+                writeString(value.getString());
+                break;
+            case Array: {
+                write('[');
+                List<JsonObject> list = value.getList();
+                for (int i = 0; i < list.size(); ++i) {
+                    if (i > 0) write(',');
+                    writeValue(list.get(i));
+                }
+                write(']');
+                break;
+            }
+            case Object: {
+                write('{');
+                Map<String, JsonObject> map = value.getObject();
+                if (map instanceof JsonCompactMap) {
+                    // Walked by position, its entry set allocates an entry per pair
+                    JsonCompactMap compact = (JsonCompactMap) map;
+                    for (int i = 0; i < compact.size(); ++i) {
+                        if (i > 0) write(',');
+                        writeKey(compact.keyAt(i));
+                        writeValue(compact.valueAt(i));
+                    }
+                } else {
+                    boolean first = true;
+                    for (Map.Entry<String, JsonObject> entry : map.entrySet()) {
+                        if (!first) write(',');
+                        first = false;
+                        writeKey(entry.getKey());
+                        writeValue(entry.getValue());
+                    }
+                }
+                write('}');
+                break;
+            }
+        }
+    }
+
+    // A key seen a second time is kept escaped, with its quotes and colon, and copied in one piece after that
+    void writeKey(String key) throws IOException {
+        if (key.length() > MAX_CACHED_KEY_LENGTH) {
+            writeString(key);
+            write(':');
+            return;
+        }
+        if (cachedKeys == null) {
+            cachedKeys = new String[KEY_CACHE_SIZE];
+            escapedKeys = new char[KEY_CACHE_SIZE][];
+        }
+        int hash = key.hashCode();
+        int slot = (hash ^ (hash >>> 16)) & (KEY_CACHE_SIZE - 1);
+        String cached = cachedKeys[slot];
+        if (cached != key && !key.equals(cached)) {
+            // First sighting, keys that never repeat cost no copy
+            cachedKeys[slot] = key;
+            escapedKeys[slot] = null;
+            writeString(key);
+            write(':');
+            return;
+        }
+        char[] escaped = escapedKeys[slot];
+        if (escaped == null) {
+            escaped = escapeKey(key);
+            escapedKeys[slot] = escaped;
+        }
+        if (builder != null) {
+            builder.append(escaped);
+            return;
+        }
+        ensureRoom(escaped.length);
+        System.arraycopy(escaped, 0, buffer, count, escaped.length);
+        count += escaped.length;
+    }
+
+    private char[] escapeKey(String key) throws IOException {
+        StringBuilder target = builder;
+        StringBuilder sb = new StringBuilder(key.length() * MAX_ESCAPE_LENGTH + 3);
+        try {
+            builder = sb;
+            writeString(key);
+            write(':');
+        } finally {
+            builder = target;
+        }
+        char[] escaped = new char[sb.length()];
+        sb.getChars(0, escaped.length, escaped, 0);
+        return escaped;
+    }
+
+    // Clean runs between escapes are copied in bulk
+    void writeString(String input) throws IOException {
+        write('"');
+        int length = input.length();
+        int runStart = 0;
+        for (int i = 0; i < length; ++i) {
+            char c = input.charAt(i);
+            if (c < ESCAPES.length) {
+                if (ESCAPES[c] == null) {
+                    continue;
+                }
+            } else if (!asciiOnly) {
+                continue;
+            }
+            write(input, runStart, i);
+            if (c < ESCAPES.length) {
+                write(ESCAPES[c]);
+            } else {
+                // Surrogate pairs become two escapes, as the JSON grammar spells them
+                write('\\');
+                write('u');
+                write(HEX_DIGITS[c >> 12]);
+                write(HEX_DIGITS[(c >> 8) & 0xF]);
+                write(HEX_DIGITS[(c >> 4) & 0xF]);
+                write(HEX_DIGITS[c & 0xF]);
+            }
+            runStart = i + 1;
+        }
+        write(input, runStart, length);
+        write('"');
+    }
+
+    void write(char c) throws IOException {
+        if (builder != null) {
+            builder.append(c);
+            return;
+        }
+        if (count == buffer.length) {
+            flushBuffer(false);
+        }
+        buffer[count++] = c;
+    }
+
+    void write(String input) throws IOException {
+        write(input, 0, input.length());
+    }
+
+    // Bound numbers have no cached text, a builder takes their digits directly
+    void writeLong(long value) throws IOException {
+        if (builder != null) {
+            builder.append(value);
+            return;
+        }
+        write(Long.toString(value));
+    }
+
+    void writeDouble(double value) throws IOException {
+        if (builder != null) {
+            builder.append(value);
+            return;
+        }
+        write(Double.toString(value));
+    }
+
+    private void write(String input, int start, int end) throws IOException {
+        if (builder != null) {
+            builder.append(input, start, end);
+            return;
+        }
+        while (start < end) {
+            if (count == buffer.length) {
+                flushBuffer(false);
+            }
+            int chunkEnd = Math.min(end, start + buffer.length - count);
+            input.getChars(start, chunkEnd, buffer, count);
+            count += chunkEnd - start;
+            start = chunkEnd;
+        }
+    }
+
+    private void ensureRoom(int chars) throws IOException {
+        if (buffer.length - count < chars) {
+            flushBuffer(false);
+        }
+    }
+
+    private void flushBuffer(boolean last) throws IOException {
+        if (writer != null) {
+            writer.write(buffer, 0, count);
+            count = 0;
+            return;
+        }
+
+        if (asciiOnly) {
+            for (int i = 0; i < count; ++i) {
+                bytes[i] = (byte) buffer[i];
+            }
+            output.write(bytes, 0, count);
+            count = 0;
+            return;
+        }
+
+        int end = count;
+        // A high surrogate at the end of the chunk is kept until its low surrogate arrives
+        if (!last && end > 0 && Character.isHighSurrogate(buffer[end - 1])) {
+            end--;
+        }
+        int length = 0;
+        for (int i = 0; i < end; ++i) {
+            char c = buffer[i];
+            if (c < 0x80) {
+                bytes[length++] = (byte) c;
+            } else if (c < 0x800) {
+                bytes[length++] = (byte) (0xC0 | (c >> 6));
+                bytes[length++] = (byte) (0x80 | (c & 0x3F));
+            } else if (Character.isHighSurrogate(c) && i + 1 < end && Character.isLowSurrogate(buffer[i + 1])) {
+                int codePoint = Character.toCodePoint(c, buffer[++i]);
+                bytes[length++] = (byte) (0xF0 | (codePoint >> 18));
+                bytes[length++] = (byte) (0x80 | ((codePoint >> 12) & 0x3F));
+                bytes[length++] = (byte) (0x80 | ((codePoint >> 6) & 0x3F));
+                bytes[length++] = (byte) (0x80 | (codePoint & 0x3F));
+            } else if (Character.isSurrogate(c)) {
+                // Unpaired surrogate, same replacement as String.getBytes
+                bytes[length++] = '?';
+            } else {
+                bytes[length++] = (byte) (0xE0 | (c >> 12));
+                bytes[length++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+                bytes[length++] = (byte) (0x80 | (c & 0x3F));
+            }
+        }
+        output.write(bytes, 0, length);
+        count -= end;
+        if (count > 0) {
+            buffer[0] = buffer[end];
+        }
+    }
+}
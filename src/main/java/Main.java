@@ -1,11 +1,26 @@
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.google.gson.JsonElement;
-import com.google.gson.JsonParser;
 
-import java.time.Instant;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.FilterReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 public class Main {
     public static String[] correctnessTestSet = {
@@ -51,6 +66,24 @@ public class Main {
     public static void main(String[] args) {
         try {
             testJsonHelper();
+            testJsonReader();
+            testJsonSources();
+            testJsonWriter();
+            testJsonSymbolTable();
+            testCompact();
+            testSharedLeaves();
+            testLazy();
+            testUtf8();
+            testParallel();
+            testJsonLines();
+            testMappedFile();
+            testSyntaxErrors();
+            testJsonParser();
+            testJsonPath();
+            testBinding();
+            testJsonShape();
+            testFrozen();
+            testEquality();
             testJackson();
             testGson();
         } catch (Exception e) {
@@ -84,30 +117,835 @@ public class Main {
         if (!str3.equals(FORMATTED_3)) { throw new Exception(String.format("\n%s\n%s", str3, FORMATTED_3)); }
         if (!str4.equals(FORMATTED_4)) { throw new Exception(String.format("\n%s\n%s", str4, FORMATTED_4)); }
         if (!str5.equals(FORMATTED_5)) { throw new Exception(String.format("\n%s\n%s", str5, FORMATTED_5)); }
+    }
+
+    private static void testJsonReader() throws Exception {
+        String[] cases = {CASE_1, CASE_2, CASE_3, CASE_4, CASE_5, CASE_6};
+        for (String str : cases) {
+            String expected = JsonObject.create(str).toString();
+
+            // One character per read to cross a buffer refill at every position
+            JsonReader reader = new JsonReader(new FilterReader(new StringReader(str)) {
+                @Override
+                public int read(char[] cbuf, int off, int len) throws IOException {
+                    return super.read(cbuf, off, Math.min(len, 1));
+                }
+            });
+            reader.next();
+            String actual = reader.readTree().toString();
+            if (!actual.equals(expected)) { throw new Exception(String.format("\n%s\n%s", actual, expected)); }
+            if (reader.next() != JsonToken.EndDocument) { throw new Exception("Missing end of document: " + str); }
+        }
+
+        JsonReader reader = new JsonReader(CASE_1);
+        reader.next();
+        reader.next();
+        if (!reader.getFieldName().equals("field")) { throw new Exception(reader.getFieldName()); }
+        reader.next();
+        reader.skipChildren();
+        if (reader.next() != JsonToken.EndObject) { throw new Exception("Subtree not skipped: " + reader.getToken()); }
+    }
+
+    private static void testJsonSources() throws Exception {
+        String[] cases = {CASE_1, CASE_2, CASE_3, CASE_4, CASE_5, CASE_6, "{\"text\":\"caf\u00e9 \ud83d\ude00\"}"};
+        for (String str : cases) {
+            String expected = JsonObject.create(str).toString();
+            byte[] bytes = str.getBytes(StandardCharsets.UTF_8);
+
+            String fromReader = JsonObject.create(new StringReader(str)).toString();
+            String fromStream = JsonObject.create(new ByteArrayInputStream(bytes)).toString();
+            String fromBuffer = JsonObject.create(ByteBuffer.wrap(bytes)).toString();
+
+            if (!fromReader.equals(expected)) { throw new Exception(String.format("\n%s\n%s", fromReader, expected)); }
+            if (!fromStream.equals(expected)) { throw new Exception(String.format("\n%s\n%s", fromStream, expected)); }
+            if (!fromBuffer.equals(expected)) { throw new Exception(String.format("\n%s\n%s", fromBuffer, expected)); }
+        }
+
+        // Errors read the same whatever the source, truncated escapes included
+        String[] malformed = {"\"\\u00", "[\"\\u0", "{\"k\\u00", "[\"\\u00g1\"]", "[1, 2", "{\"a\": tru}"};
+        for (String str : malformed) {
+            String expected = JsonObject.tryCreate(str).getError().getMessage();
+            byte[] bytes = str.getBytes(StandardCharsets.UTF_8);
+            String[] actual = new String[4];
+            try { JsonObject.create(new StringReader(str)); } catch (JsonSyntaxException e) { actual[0] = e.getMessage(); }
+            try { JsonObject.create(new ByteArrayInputStream(bytes)); } catch (JsonSyntaxException e) { actual[1] = e.getMessage(); }
+            try { JsonObject.create(ByteBuffer.wrap(bytes)); } catch (JsonSyntaxException e) { actual[2] = e.getMessage(); }
+            try { JsonObject.create(bytes); } catch (JsonSyntaxException e) { actual[3] = e.getMessage(); }
+            for (String message : actual) {
+                if (!expected.equals(message)) { throw new Exception(String.format("\n%s\n%s", message, expected)); }
+            }
+        }
+    }
+
+    private static void testJsonWriter() throws Exception {
+        StringBuilder large = new StringBuilder("[");
+        for (int i = 0; i < 5000; ++i) {
+            large.append(CASE_1).append(",\"\\ud83d\\ude00\",");
+        }
+        large.append("null]");
+
+        String[] cases = {CASE_1, CASE_2, CASE_3, CASE_4, CASE_5, CASE_6, "\"caf\u00e9 \ud83d\ude00\"", large.toString()};
+        for (String str : cases) {
+            JsonObject object = JsonObject.create(str);
+            String expected = object.toString();
+
+            StringWriter writer = new StringWriter();
+            object.writeTo(writer);
+            ByteArrayOutputStream output = new ByteArrayOutputStream();
+            object.writeTo(output);
+
+            String fromWriter = writer.toString();
+            String fromStream = new String(output.toByteArray(), StandardCharsets.UTF_8);
+            if (!fromWriter.equals(expected)) { throw new Exception(String.format("\n%s\n%s", fromWriter, expected)); }
+            if (!fromStream.equals(expected)) { throw new Exception(String.format("\n%s\n%s", fromStream, expected)); }
+            if (!object.toStringBuilder().toString().equals(expected)) { throw new Exception(expected); }
+        }
+
+        // One writer reused across documents and sinks
+        JsonWriter reused = new JsonWriter();
+        for (String str : cases) {
+            JsonObject object = JsonObject.create(str);
+            String expected = object.toStringBuilder().toString();
+            if (!reused.writeToString(object).equals(expected)) { throw new Exception(expected); }
+            StringWriter writer = new StringWriter();
+            reused.reset(writer);
+            reused.write(object);
+            reused.reset();
+            if (!writer.toString().equals(expected)) { throw new Exception(writer.toString()); }
+        }
+
+        // A sink serializing another value while the thread's pooled writer is busy
+        JsonObject inner = JsonObject.create(CASE_2);
+        StringWriter nested = new StringWriter() {
+            @Override
+            public void write(char[] chars, int offset, int length) {
+                super.write(inner.toString());
+                super.write(chars, offset, length);
+            }
+        };
+        JsonObject.create(CASE_3).writeTo(nested);
+        if (!nested.toString().equals(inner.toString() + JsonObject.create(CASE_3))) { throw new Exception(nested.toString()); }
+
+        // Every control char is escaped, and ASCII mode escapes the rest so the bytes need no encoding
+        StringBuilder controls = new StringBuilder();
+        for (char c = 0; c < 0x20; ++c) {
+            controls.append(c);
+        }
+        JsonObject special = new JsonObject(controls + "\"\\/caf\u00e9 \ud83d\ude00");
+        String escaped = special.toString();
+        if (!escaped.startsWith("\"\\u0000\\u0001") || !escaped.contains("\\b\\t\\n\\u000b\\f\\r\\u000e")) { throw new Exception(escaped); }
+        if (!JsonObject.create(escaped).getString().equals(special.getString())) { throw new Exception(escaped); }
+        JsonWriter ascii = new JsonWriter();
+        ascii.setAsciiOnly(true);
+        String asciiText = ascii.writeToString(special);
+        if (!asciiText.endsWith("caf\\u00e9 \\ud83d\\ude00\"")) { throw new Exception(asciiText); }
+        if (!JsonObject.create(asciiText).getString().equals(special.getString())) { throw new Exception(asciiText); }
+        for (String str : cases) {
+            // Keys are seen twice per document so both cached and uncached keys are written in each mode
+            JsonObject object = JsonObject.create("[" + str + "," + str + "]");
+            ascii.setAsciiOnly(true);
+            String expected = ascii.writeToString(object);
+            ByteArrayOutputStream output = new ByteArrayOutputStream();
+            ascii.reset(output);
+            ascii.write(object);
+            ascii.reset();
+            if (!new String(output.toByteArray(), StandardCharsets.US_ASCII).equals(expected)) { throw new Exception(expected); }
+            for (int i = 0; i < expected.length(); ++i) {
+                if (expected.charAt(i) >= 0x80) { throw new Exception(expected); }
+            }
+            if (!JsonObject.create(expected).toString().equals(object.toString())) { throw new Exception(expected); }
+            ascii.setAsciiOnly(false);
+            if (!ascii.writeToString(object).equals(object.toString())) { throw new Exception(str); }
+        }
+    }
+
+    private static void testJsonSymbolTable() throws Exception {
+        JsonSymbolTable symbols = new JsonSymbolTable();
+        String[] cases = {CASE_1, CASE_2, CASE_3, CASE_4, CASE_5, CASE_6};
+        for (String str : cases) {
+            String expected = JsonObject.create(str).toString();
+            String actual = JsonObject.create(str, symbols).toString();
+            if (!actual.equals(expected)) { throw new Exception(String.format("\n%s\n%s", actual, expected)); }
+        }
+
+        String first = JsonObject.create(CASE_2, symbols).getObject().keySet().iterator().next();
+        JsonReader reader = new JsonReader(CASE_2);
+        reader.setSymbolTable(symbols);
+        reader.next();
+        reader.next();
+        if (first != reader.getFieldName()) { throw new Exception("Key not canonicalized: " + first); }
+    }
+
+    private static void testCompact() throws Exception {
+        String[] cases = {CASE_1, CASE_2, CASE_3, CASE_4, CASE_5, CASE_6};
+        for (String str : cases) {
+            String expected = JsonObject.create(str).toString();
+            String actual = JsonObject.createCompact(str).toString();
+            if (!actual.equals(expected)) { throw new Exception(String.format("\n%s\n%s", actual, expected)); }
+        }
+
+        // Past the linear scan threshold, mutated the same way as the default representation
+        StringBuilder sb = new StringBuilder("{");
+        for (int i = 0; i < 20; ++i) {
+            sb.append(i > 0 ? "," : "").append("\"key").append(i).append("\":").append(i);
+        }
+        String str = sb.append('}').toString();
+        JsonObject expected = JsonObject.create(str);
+        JsonObject actual = JsonObject.createCompact(str);
+        for (JsonObject object : new JsonObject[]{expected, actual}) {
+            object.getObject().remove("key3");
+            object.getObject().remove("key15");
+            object.put("key0", new JsonObject("zero"));
+            object.put("key20", new JsonObject(20));
+            object.getObject().entrySet().removeIf(e -> e.getKey().equals("key7"));
+        }
+        for (int i = 0; i <= 20; ++i) {
+            String key = "key" + i;
+            if (actual.containsKey(key) != expected.containsKey(key)) { throw new Exception("containsKey " + key); }
+        }
+        if (!actual.toString().equals(expected.toString())) {
+            throw new Exception(String.format("\n%s\n%s", actual, expected));
+        }
+    }
+
+    private static void testSharedLeaves() throws Exception {
+        JsonObject list = JsonObject.create(CASE_4).get("field");
+        if (list.get(0) != JsonObject.NULL || list.get(3) != JsonObject.NULL) { throw new Exception("null not shared"); }
+        if (list.get(1) != JsonObject.TRUE || list.get(2) != JsonObject.FALSE) { throw new Exception("boolean not shared"); }
+        if (list.get(4) != JsonObject.valueOf(-3)) { throw new Exception("small integer not shared"); }
+
+        list.getList().set(0, new JsonObject("replaced"));
+        list.add(JsonObject.valueOf(-3));
+        if (!JsonObject.NULL.toString().equals("null") || JsonObject.valueOf(-3).getInt() != -3) {
+            throw new Exception("shared leaf mutated");
+        }
+        if (!JsonObject.create(" 007 ").toString().equals("007")) { throw new Exception("non canonical integer shared"); }
+    }
+
+    private static void testLazy() throws Exception {
+        for (String str : correctnessTestSet) {
+            String expected = JsonObject.create(str).toString();
+            String actual = JsonObject.createLazy(str).toString();
+            if (!actual.equals(expected)) { throw new Exception(String.format("\n%s\n%s", actual, expected)); }
+        }
+        String[] cases = {CASE_1, CASE_2, CASE_3, CASE_4, CASE_5, CASE_6};
+        for (String str : cases) {
+            String expected = JsonObject.create(str).toString();
+            String actual = JsonObject.createLazy(str).toString();
+            if (!actual.equals(expected)) { throw new Exception(String.format("\n%s\n%s", actual, expected)); }
+        }
+
+        JsonObject lazy = JsonObject.createLazy(CASE_1);
+        String string2 = lazy.get("field").get(1).get(1).get("strings").get("string2").getString();
+        if (!string2.equals("I am 2")) { throw new Exception(string2); }
+        lazy.get("field").get(0).add(new JsonObject(4));
+        if (lazy.get("field").get(0).getList().size() != 6) { throw new Exception(lazy.toString()); }
+    }
+
+    private static void testUtf8() throws Exception {
+        String[] cases = {CASE_1, CASE_2, CASE_3, CASE_4, CASE_5, CASE_6,
+                "{\"text\":\"caf\u00e9 \ud83d\ude00 \\\"escaped\\\" \\u00e9 long enough to span words\"}"};
+        for (String str : cases) {
+            String expected = JsonObject.create(str).toString();
+            String actual = JsonObject.create(str.getBytes(StandardCharsets.UTF_8)).toString();
+            if (!actual.equals(expected)) { throw new Exception(String.format("\n%s\n%s", actual, expected)); }
+        }
+        for (String str : correctnessTestSet) {
+            String expected = JsonObject.create(str).toString();
+            String actual = JsonObject.create(str.getBytes(StandardCharsets.UTF_8)).toString();
+            if (!actual.equals(expected)) { throw new Exception(String.format("\n%s\n%s", actual, expected)); }
+        }
+
+        // Malformed input reports the same error as the String parser
+        String[] malformed = {"", "[1,]", "{\"a\" 1}", "[nul]", "\"abc", "[1 2]", "01x", "{\"a\":\"\\q\"}"};
+        for (String str : malformed) {
+            String expected = null;
+            String actual = null;
+            try {
+                JsonObject.create(str);
+            } catch (JsonIOException e) {
+                expected = e.getMessage();
+            }
+            try {
+                JsonObject.create(str.getBytes(StandardCharsets.UTF_8));
+            } catch (JsonIOException e) {
+                actual = e.getMessage();
+            }
+            if (expected == null || !expected.equals(actual)) { throw new Exception(String.format("\n%s\n%s", actual, expected)); }
+        }
+    }
+
+    private static void testParallel() throws Exception {
+        String[] cases = {CASE_1, CASE_2, CASE_3, CASE_4, CASE_5, CASE_6};
+        StringBuilder array = new StringBuilder("[");
+        StringBuilder lines = new StringBuilder();
+        for (int i = 0; i < 5000; ++i) {
+            String element = cases[i % cases.length];
+            array.append(i > 0 ? ",\n  " : "").append(element);
+            lines.append(JsonObject.create(element)).append(i % 7 == 0 ? "\r\n\n" : "\n");
+        }
+        array.append("]");
+
+        List<JsonObject> expected = JsonObject.create(array.toString()).getList();
+        List<JsonObject> fromArray = JsonObject.createParallel(array.toString());
+        List<JsonObject> fromLines = JsonObject.createLinesParallel(lines.toString());
+        if (!fromArray.toString().equals(expected.toString())) { throw new Exception("Parallel array mismatch"); }
+        if (!fromLines.toString().equals(expected.toString())) { throw new Exception("Parallel lines mismatch"); }
+        if (!JsonObject.createParallel(" [ ] ").isEmpty()) { throw new Exception("Parallel empty array"); }
+
+        // Malformed arrays report the same error as the sequential parser
+        String[] malformed = {"[1,]", "[1,[2,3],{\"a\":}]", "[\"abc]", "[1] 2"};
+        for (String str : malformed) {
+            String message = null;
+            String parallelMessage = null;
+            try {
+                JsonObject.create(str);
+            } catch (JsonIOException e) {
+                message = e.getMessage();
+            }
+            try {
+                JsonObject.createParallel(str);
+            } catch (JsonIOException e) {
+                parallelMessage = e.getMessage();
+            }
+            if (message == null || !message.equals(parallelMessage)) { throw new Exception(String.format("\n%s\n%s", parallelMessage, message)); }
+        }
+        try {
+            JsonObject.createLinesParallel("{\"a\":1}\n\n{\"a\":}\n[]");
+            throw new Exception("Malformed record accepted");
+        } catch (JsonSyntaxException e) {
+            if (e.getLine() != 3 || e.getColumn() != 6 || e.getPosition() != 14) { throw new Exception(e.getMessage()); }
+        }
+
+        // From a Reader, over several segments, with errors placed in the whole input
+        StringBuilder many = new StringBuilder();
+        while (many.length() < 3 << 20) {
+            many.append(lines);
+        }
+        List<JsonObject> fromString = JsonObject.createLinesParallel(many.toString());
+        List<JsonObject> fromReader = JsonObject.createLinesParallel(new StringReader(many.toString()));
+        if (!fromReader.equals(fromString)) { throw new Exception("Parallel reader mismatch"); }
+        many.append("{\"a\":1}\n  [1,,2]\n");
+        JsonSyntaxException expectedError = null;
+        JsonSyntaxException readerError = null;
+        try {
+            JsonObject.createLinesParallel(many.toString());
+        } catch (JsonSyntaxException e) {
+            expectedError = e;
+        }
+        try {
+            JsonObject.createLinesParallel(new StringReader(many.toString()));
+        } catch (JsonSyntaxException e) {
+            readerError = e;
+        }
+        if (expectedError == null || readerError == null || !readerError.getMessage().equals(expectedError.getMessage())
+                || readerError.getLine() != expectedError.getLine() || readerError.getColumn() != 6) {
+            throw new Exception(String.format("\n%s\n%s", readerError, expectedError));
+        }
+    }
+
+    private static void testJsonLines() throws Exception {
+        String[] cases = {CASE_1, CASE_2, CASE_3, CASE_4, CASE_5, CASE_6, "\"line\\nbreak\"", "42"};
+        StringWriter writer = new StringWriter();
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        try (JsonLinesWriter lines = new JsonLinesWriter(writer); JsonLinesWriter bytes = new JsonLinesWriter(output)) {
+            for (String str : cases) {
+                lines.write(JsonObject.create(str));
+                bytes.write(JsonObject.create(str));
+            }
+        }
+        if (!writer.toString().equals(new String(output.toByteArray(), StandardCharsets.UTF_8))) { throw new Exception(writer.toString()); }
+
+        List<String> read = new ArrayList<>();
+        try (JsonLinesReader lines = new JsonLinesReader(new StringReader("\n" + writer + "\r\n  \n"))) {
+            while (lines.hasNext()) {
+                read.add(lines.next().toString());
+            }
+        }
+        if (read.size() != cases.length) { throw new Exception(read.toString()); }
+        for (int i = 0; i < cases.length; ++i) {
+            String expected = JsonObject.create(cases[i]).toString();
+            if (!read.get(i).equals(expected)) { throw new Exception(String.format("\n%s\n%s", read.get(i), expected)); }
+        }
+
+        if (new JsonLinesReader(new ByteArrayInputStream(new byte[0])).hasNext()) { throw new Exception("Empty input has records"); }
+        try {
+            JsonLinesReader lines = new JsonLinesReader(new StringReader("{\"a\":1} {\"a\":2}"));
+            lines.next();
+            lines.next();
+            throw new Exception("Two records on one line accepted");
+        } catch (JsonIOException e) {
+            if (!e.getMessage().startsWith("Parse Error - Redundant component")) { throw new Exception(e.getMessage()); }
+        }
+    }
+
+    private static void testMappedFile() throws Exception {
+        String text = "{\"text\":\"caf\u00e9 \ud83d\ude00 \u4e2d\u6587\",\"cases\":[" + CASE_1 + "," + CASE_2 + "," + CASE_5 + "]}";
+        Path path = Files.createTempFile("json-helper", ".json");
+        try {
+            Files.write(path, text.getBytes(StandardCharsets.UTF_8));
+            String expected = JsonObject.create(text).toString();
+            String actual = JsonObject.create(path).toString();
+            if (!actual.equals(expected)) { throw new Exception(String.format("\n%s\n%s", actual, expected)); }
+
+            // Tiny regions end inside multi-byte sequences, every region is a separate mapping so the text is kept short
+            text = "{\"text\":\"caf\u00e9 \ud83d\ude00 \u4e2d\u6587\"}";
+            Files.write(path, text.getBytes(StandardCharsets.UTF_8));
+            for (int regionSize = 1; regionSize <= 7; ++regionSize) {
+                StringBuilder sb = new StringBuilder();
+                try (MappedFileReader reader = new MappedFileReader(path, regionSize)) {
+                    char[] buffer = new char[3];
+                    for (int count; (count = reader.read(buffer, 0, buffer.length)) != -1; ) {
+                        sb.append(buffer, 0, count);
+                    }
+                }
+                if (!sb.toString().equals(text)) { throw new Exception(String.format("\n%s\n%s", sb, text)); }
+            }
+        } finally {
+            Files.delete(path);
+        }
+
+        try {
+            JsonObject.create(Paths.get("missing.json"));
+            throw new Exception("Missing file accepted");
+        } catch (JsonIOException e) {
+            if (!e.getMessage().startsWith("Read Error")) { throw new Exception(e.getMessage()); }
+        }
+    }
+
+    private static void testSyntaxErrors() throws Exception {
+        String input = "{\n  \"a\": [1, 2],\n  \"b\": tru\n}";
+        JsonParseResult result = JsonObject.tryCreate(input);
+        if (result.isValid()) { throw new Exception("Malformed input accepted"); }
+        JsonSyntaxException error = result.getError();
+        if (error.getLine() != 3 || error.getColumn() != 11 || error.getPosition() != 27) {
+            throw new Exception(String.format("%d:%d at %d", error.getLine(), error.getColumn(), error.getPosition()));
+        }
+        String expected = "Parse Error - Invalid true node at position 27 near \"tru\\n}\".";
+        if (!error.getMessage().equals(expected.replace("\\n", "\n"))) { throw new Exception(error.getMessage()); }
+        if (error.getStackTrace().length != 0) { throw new Exception("Stack trace captured"); }
+
+        try {
+            JsonReader reader = new JsonReader(input);
+            reader.next();
+            reader.readTree();
+            throw new Exception("Malformed input accepted");
+        } catch (JsonSyntaxException e) {
+            if (e.getLine() != 3 || e.getColumn() != 11 || !e.getMessage().equals(error.getMessage())) { throw new Exception(e.getMessage()); }
+        }
+
+        try {
+            JsonObject.create("[1, 2");
+            throw new Exception("Malformed input accepted");
+        } catch (JsonSyntaxException e) {
+            if (!e.getMessage().equals("Parse Error - Index overflow.") || e.getNear() != null) { throw new Exception(e.getMessage()); }
+        }
+        if (!JsonObject.tryCreate(CASE_1).getValue().toString().equals(JsonObject.create(CASE_1).toString())) {
+            throw new Exception("Valid input rejected");
+        }
+    }
+
+    private static void testJsonParser() throws Exception {
+        JsonParser parser = new JsonParser();
+        for (String str : correctnessTestSet) {
+            if (!parser.parse(str).toString().equals(JsonObject.create(str).toString())) { throw new Exception(str); }
+        }
+        if (parser.tryParse("{\"a\": nul}").isValid()) { throw new Exception("Malformed input accepted"); }
+        try {
+            parser.parse("[\"\\u00e9\\x\"]");
+            throw new Exception("Malformed input accepted");
+        } catch (JsonSyntaxException e) {
+            if (!e.getErrorType().equals("Invalid escaped character") || e.getPosition() != 9) { throw new Exception(e.getMessage()); }
+        }
+        // Still usable after an error
+        if (!parser.parse("[\"\\u00e9\\n\", -0, 07, 1.5e3]").toString().equals("[\"\u00e9\\n\",-0,07,1.5e3]")) {
+            throw new Exception("Parser state leaked between documents");
+        }
+
+        JsonSymbolTable symbols = new JsonSymbolTable();
+        parser.setSymbolTable(symbols);
+        parser.setCompact(true);
+        JsonObject a = parser.parse("{\"key\": [1]}");
+        JsonObject b = parser.parse("{\"key\": [2]}");
+        if (a.getObject().keySet().iterator().next() != b.getObject().keySet().iterator().next()) { throw new Exception("Key not shared"); }
+        if (!(a.getObject() instanceof JsonCompactMap)) { throw new Exception("Compact option ignored"); }
+    }
+
+    private static void testJsonPath() throws Exception {
+        JsonObject tree = JsonObject.create(CASE_1);
+        String[][] cases = {
+                {"/field/1/1/strings/string2", "\"I am 2\""},
+                {"$.field[1][1].strings['string2']", "\"I am 2\""},
+                {"/field/0/4", "\"er\\\"\\\\\\\"ewqe\""},
+                {"$.field[1][0]", "{\"id\":123456,\"name\":\"Jack\"}"},
+                {"/field/1/0/id", "123456"},
+                {"", tree.toString()},
+                {"/field/2", null},
+                {"/field/-", null},
+                {"$.field.0", null},
+                {"/field/0/1/x", null},
+        };
+        JsonPath[] paths = new JsonPath[cases.length];
+        for (int i = 0; i < cases.length; ++i) {
+            paths[i] = JsonPath.compile(cases[i][0]);
+            JsonObject found = tree.get(paths[i]);
+            String actual = found == null ? null : found.toString();
+            if (!Objects.equals(actual, cases[i][1])) { throw new Exception(String.format("%s\n%s\n%s", cases[i][0], actual, cases[i][1])); }
+        }
+
+        // Raw input, in one scan for all paths, through a String and through a reader
+        JsonObject[] fromString = JsonPath.extract(CASE_1, paths);
+        JsonReader reader = new JsonReader("[" + CASE_1 + ", 1]");
+        reader.next();
+        reader.next();
+        JsonObject[] fromReader = JsonPath.extract(reader, paths);
+        if (reader.next() != JsonToken.ValueNumber) { throw new Exception("Reader left inside the value"); }
+        for (int i = 0; i < cases.length; ++i) {
+            String actual = fromString[i] == null ? null : fromString[i].toString();
+            if (!Objects.equals(actual, cases[i][1])) { throw new Exception(String.format("%s\n%s\n%s", cases[i][0], actual, cases[i][1])); }
+            actual = fromReader[i] == null ? null : fromReader[i].toString();
+            if (!Objects.equals(actual, cases[i][1])) { throw new Exception(String.format("%s\n%s\n%s", cases[i][0], actual, cases[i][1])); }
+        }
+
+        // Escaped keys, pointer escapes and quoted names with dots
+        JsonObject[] escaped = JsonPath.extract("{\"a/b\": 1, \"m~n\": 2, \"send\\\"_id\": 3, \"x.y\": {\"\\u0041\": 4}}",
+                JsonPath.compile("/a~1b"), JsonPath.compile("/m~0n"), JsonPath.compile("/send\"_id"), JsonPath.compile("$['x.y'].A"));
+        for (int i = 0; i < escaped.length; ++i) {
+            if (escaped[i] == null || escaped[i].getInt() != i + 1) { throw new Exception("Escaped key not matched: " + i); }
+        }
+
+        // A repeated key gives the last occurrence, as in the parsed tree, so the whole input is scanned
+        JsonPath first = JsonPath.compile("/a");
+        JsonPath nested = JsonPath.compile("$.a.b");
+        String[] repeated = {"{\"a\": 1, \"a\": 2}", "{\"a\": {\"b\": 1}, \"a\": 5}", "{\"a\": {\"b\": 1}, \"c\": 0, \"a\": {\"b\": 2, \"b\": 3}}",
+                "{\"a\": {\"b\": 1, \"b\": {\"c\": 2}}}"};
+        for (String str : repeated) {
+            JsonObject parsed = JsonObject.create(str);
+            JsonObject[] extracted = JsonPath.extract(str, first, nested);
+            JsonReader repeatedReader = new JsonReader(new StringReader(str));
+            repeatedReader.next();
+            JsonObject[] read = JsonPath.extract(repeatedReader, first, nested);
+            for (int i = 0; i < 2; ++i) {
+                String expected = Objects.toString(new JsonPath[]{first, nested}[i].find(parsed), null);
+                if (!Objects.equals(Objects.toString(extracted[i], null), expected) || !Objects.equals(Objects.toString(read[i], null), expected)) {
+                    throw new Exception(String.format("%s\n%s\n%s", str, extracted[i], expected));
+                }
+            }
+        }
+        try {
+            JsonPath.extract("{\"a\": 1, \"b\": ", first);
+            throw new Exception("Truncated input accepted");
+        } catch (JsonSyntaxException ignored) {
+        }
+        try {
+            JsonPath.extract("{\"b\": [1 2], \"a\": 1}", first);
+            throw new Exception("Malformed input accepted");
+        } catch (JsonSyntaxException e) {
+            if (!e.getErrorType().equals("Missing comma in list")) { throw new Exception(e.getMessage()); }
+        }
+        for (String invalid : new String[]{"a/b", "/a~2", "$.", "$.a[x]", "$['a'", "$.*"}) {
+            try {
+                JsonPath.compile(invalid);
+                throw new Exception("Invalid path accepted: " + invalid);
+            } catch (IllegalArgumentException ignored) {
+            }
+        }
+    }
+
+    enum Color { RED, GREEN { } }
+
+    static class Point {
+        int x;
+        Integer y;
+        transient int ignored = 7;
+    }
+
+    // Parses while it is being bound, through the same thread's parser
+    static class Tagged {
+        int a;
+        JsonObject meta = JsonObject.create("{\"x\": 1}", new JsonSymbolTable());
+        Tagged inner;
+    }
+
+    static class Shape {
+        String name;
+        char tag;
+        long id;
+        double area;
+        boolean visible;
+        Color color;
+        Color accent;
+        BigDecimal exact;
+        List<Point> points;
+        Map<String, List<Integer>> groups;
+        int[] sizes;
+        Point[] corners;
+        JsonObject extra;
+        Shape child;
+    }
+
+    private static void testBinding() throws Exception {
+        String input = "{\"name\": \"sq\\\"uare\", \"tag\": \"s\", \"id\": 12345678901, \"area\": 2.5e1, \"visible\": true,"
+                + " \"color\": \"RED\", \"accent\": \"GREEN\", \"exact\": 0.10000000000000000001, \"unknown\": [1, {\"x\": 2}],"
+                + " \"points\": [{\"x\": 1, \"y\": null}, {\"x\": -2, \"y\": 3}], \"groups\": {\"a\": [1, 2], \"b\": []},"
+                + " \"sizes\": [4, 5], \"corners\": [{\"x\": 9}], \"extra\": {\"any\": [null]}, \"child\": {\"name\": \"in\", \"child\": null}}";
+        Shape fromTree = JsonObject.create(input).bind(Shape.class);
+        Shape fromInput = JsonObject.create(input, Shape.class);
+        for (Shape shape : new Shape[]{fromTree, fromInput}) {
+            if (!shape.name.equals("sq\"uare") || shape.tag != 's' || shape.id != 12345678901L || shape.area != 25 || !shape.visible
+                    || shape.color != Color.RED || shape.accent != Color.GREEN || !shape.exact.equals(new BigDecimal("0.10000000000000000001"))
+                    || shape.points.get(0).x != 1 || shape.points.get(0).y != null || shape.points.get(1).y != 3 || shape.points.get(0).ignored != 7
+                    || !shape.groups.get("a").equals(Arrays.asList(1, 2)) || !shape.groups.get("b").isEmpty()
+                    || !Arrays.equals(shape.sizes, new int[]{4, 5}) || shape.corners[0].x != 9
+                    || !shape.extra.toString().equals("{\"any\":[null]}") || !shape.child.name.equals("in") || shape.child.child != null) {
+                throw new Exception("Binding mismatch");
+            }
+        }
+
+        // Back to a tree, every field in declaration order and nulls kept
+        JsonObject tree = JsonObject.from(fromInput);
+        if (!tree.get("points").toString().equals("[{\"x\":1,\"y\":null},{\"x\":-2,\"y\":3}]")
+                || !tree.get("child").get("points").toString().equals("null") || tree.containsKey("ignored")) {
+            throw new Exception(tree.toString());
+        }
+        String expected = tree.toString();
+        String again = JsonObject.from(JsonObject.create(expected, Shape.class)).toString();
+        if (!again.equals(expected)) { throw new Exception(String.format("\n%s\n%s", again, expected)); }
+        if (!JsonObject.from(Arrays.asList(1, "a", null)).toString().equals("[1,\"a\",null]")) { throw new Exception("List not encoded"); }
+        fromInput.area = 0.1;
+        fromInput.exact = new BigDecimal("1E+3");
+        Object[] values = {fromInput, fromTree, Arrays.asList(1, 2.5f, 'c', Color.GREEN, null), new Point[]{new Point()}, 7, JsonObject.create(CASE_1)};
+        for (Object value : values) {
+            String stringified = JsonObject.stringify(value);
+            if (!stringified.equals(JsonObject.from(value).toString())) { throw new Exception(stringified); }
+        }
+
+        // Mismatched types fail like the getters do
+        String[] mismatched = {"{\"id\": \"1\"}", "{\"visible\": null}", "{\"points\": {}}", "[]"};
+        for (String str : mismatched) {
+            try {
+                JsonObject.create(str, Shape.class);
+                throw new Exception("Mismatch accepted: " + str);
+            } catch (JsonCastException ignored) {
+            }
+            try {
+                JsonObject.create(str).bind(Shape.class);
+                throw new Exception("Mismatch accepted: " + str);
+            } catch (JsonCastException ignored) {
+            }
+        }
+        try {
+            JsonObject.create("{\"points\": [{\"x\": 1} {\"x\": 2}]}", Shape.class);
+            throw new Exception("Malformed input accepted");
+        } catch (JsonSyntaxException e) {
+            if (!e.getErrorType().equals("Missing comma in list")) { throw new Exception(e.getMessage()); }
+        }
+        Tagged tagged = JsonObject.create("{\"a\": 5, \"inner\": {\"a\": 6, \"b\": 7}, \"b\": 7}", Tagged.class);
+        if (tagged.a != 5 || tagged.inner.a != 6 || tagged.inner.inner != null || tagged.meta.get("x").getInt() != 1) {
+            throw new Exception("Nested parse while binding");
+        }
+        try {
+            JsonObject.create("{}").bind(Runnable.class);
+            throw new Exception("Interface bound");
+        } catch (JsonIOException ignored) {
+        }
+
+        // A failed bind still hands the thread's parser back to the pool
+        JsonParser pooled = JsonParser.local(null, false);
+        pooled.parse("1");
+        try {
+            JsonObject.create("{}", Runnable.class);
+            throw new Exception("Interface bound");
+        } catch (JsonIOException ignored) {
+        }
+        JsonParser after = JsonParser.local(null, false);
+        after.parse("1");
+        if (after != pooled) { throw new Exception("Parser not released after a failed bind"); }
+    }
+
+    private static void testJsonShape() throws Exception {
+        String[] cases = {CASE_1, CASE_2, CASE_3, CASE_4, CASE_5, CASE_6};
+        for (String str : cases) {
+            String expected = JsonObject.create(str).toString();
+            String actual = JsonShape.of(JsonObject.create(str)).parse(str).toString();
+            if (!actual.equals(expected)) { throw new Exception(String.format("\n%s\n%s", actual, expected)); }
+        }
+
+        // Anything off the shape gives the same tree or error as the generic parser
+        StringBuilder sb = new StringBuilder("{");
+        for (int i = 0; i < 12; ++i) {
+            sb.append(i > 0 ? "," : "").append("\"key").append(i).append("\":").append(i);
+        }
+        String sample = sb.append(", \"list\": [{\"a\": 1, \"b\": [true]}]}").toString();
+        JsonShape shape = JsonShape.of(JsonObject.create(sample));
+        String[] inputs = {sample, sample.replace("\"key0\":0,\"key1\":1", "\"key1\":1,\"key0\":0"),
+                sample.replace("\"key5\":5,", ""), sample.replace("\"key5\":5", "\"key5\":5,\"extra\":{}"),
+                sample.replace("[true]", "{\"c\": null}"), sample.replace("{\"a\": 1, \"b\": [true]}", "{\"a\": 1, \"b\": []}, 5, {\"b\": 2, \"a\": 1}"),
+                sample.replace("\"key3\"", "\"ke\\u0079\\u0033\""), "[]", "{\"key0\": 1}"};
+        for (String str : inputs) {
+            String expected = JsonObject.create(str).toString();
+            String actual = shape.parse(str).toString();
+            if (!actual.equals(expected)) { throw new Exception(String.format("\n%s\n%s", actual, expected)); }
+        }
+        String[] malformed = {sample.replace("\"key5\":5", "\"key5\" 5"), sample.replace("[true]", "[true false]"), sample.replace("}]}", "}]")};
+        for (String str : malformed) {
+            String expected = JsonObject.tryCreate(str).getError().getMessage();
+            try {
+                shape.parse(str);
+                throw new Exception("Malformed input accepted: " + str);
+            } catch (JsonSyntaxException e) {
+                if (!e.getMessage().equals(expected)) { throw new Exception(String.format("\n%s\n%s", e.getMessage(), expected)); }
+            }
+        }
+
+        // Objects of the shape share their keys until one of them changes
+        JsonObject first = JsonObject.create(sample, shape);
+        JsonObject second = shape.parse(sample);
+        if (!(first.getObject() instanceof JsonCompactMap) || !(second.get("list").get(0).getObject() instanceof JsonCompactMap)) {
+            throw new Exception("Shape not compact");
+        }
+        first.getObject().remove("key3");
+        first.put("key20", new JsonObject(20));
+        second.getObject().entrySet().removeIf(e -> e.getKey().equals("key7"));
+        if (first.containsKey("key3") || !second.containsKey("key3") || second.containsKey("key20")
+                || !first.containsKey("key7") || second.containsKey("key7") || shape.parse(sample).getObject().size() != 13) {
+            throw new Exception(String.format("\n%s\n%s", first, second));
+        }
+    }
+
+    private static void testFrozen() throws Exception {
+        String[] cases = {CASE_1, CASE_2, CASE_3, CASE_4, CASE_5, CASE_6};
+        for (String str : cases) {
+            JsonObject tree = JsonObject.create(str);
+            JsonObject frozen = tree.freeze();
+            if (!frozen.toString().equals(tree.toString()) || !frozen.isFrozen() || frozen.freeze() != frozen) {
+                throw new Exception(String.format("\n%s\n%s", frozen, tree));
+            }
+        }
 
-        Instant start = Instant.now();
-        for (int i = 0; i < 1000000; ++i) {
-            str1 = test1.toString();
-            str2 = test2.toString();
-            str3 = test3.toString();
-            str4 = test4.toString();
-            str5 = test5.toString();
-            //str6 = test6.toString();
+        // Every write is rejected, at any depth, and the source tree stays writable
+        JsonObject tree = JsonObject.create("{\"a\": [1, {\"b\": [2]}], \"c\": {\"d\": null}, \"e\": \"f\"}");
+        JsonObject frozen = tree.freeze();
+        JsonObject inner = frozen.get("a").get(1);
+        List<Runnable> writes = Arrays.asList(
+                () -> frozen.put("x", JsonObject.NULL),
+                () -> frozen.getObject().remove("e"),
+                () -> frozen.getObject().entrySet().iterator().next().setValue(JsonObject.NULL),
+                () -> frozen.getObject().keySet().removeIf(key -> key.equals("c")),
+                () -> frozen.get("a").add(JsonObject.NULL),
+                () -> frozen.get("a").getList().set(0, JsonObject.NULL),
+                () -> inner.getObject().clear(),
+                () -> inner.get("b").getList().remove(0));
+        for (Runnable write : writes) {
+            try {
+                write.run();
+                throw new Exception("Frozen tree modified");
+            } catch (UnsupportedOperationException ignored) {
+            }
         }
-        Instant end = Instant.now();
-        System.out.println("Json Helper - Serialize Performance: " + (end.toEpochMilli() - start.toEpochMilli()) + " ms");
+        tree.get("a").get(1).get("b").add(JsonObject.NULL);
+        tree.put("g", JsonObject.TRUE);
+        if (!frozen.toString().equals("{\"a\":[1,{\"b\":[2]}],\"c\":{\"d\":null},\"e\":\"f\"}") || tree.isFrozen()) {
+            throw new Exception(frozen.toString());
+        }
+
+        // Frozen subtrees are shared by the trees they are frozen into
+        JsonObject parent = new JsonObject(new ArrayList<>(Arrays.asList(frozen, tree)));
+        JsonObject frozenParent = parent.freeze();
+        if (frozenParent.get(0) != frozen || frozenParent.get(1) == tree || !frozenParent.get(1).isFrozen()) {
+            throw new Exception("Frozen subtree copied");
+        }
+        if (frozen.getObject().hashCode() != frozen.getObject().hashCode()) { throw new Exception("Frozen hash"); }
+
+        // Deeper than recursion would go
+        JsonObject deep = new JsonObject(new ArrayList<>());
+        JsonObject deepest = deep;
+        for (int i = 0; i < 100000; ++i) {
+            JsonObject child = new JsonObject(new ArrayList<>());
+            deepest.add(child);
+            deepest = child;
+        }
+        deepest.add(JsonObject.TRUE);
+        JsonObject frozenDeep = deep.freeze();
+        for (int i = 0; i < 100000; ++i) {
+            frozenDeep = frozenDeep.get(0);
+        }
+        if (!frozenDeep.isFrozen() || frozenDeep.get(0) != JsonObject.TRUE) { throw new Exception("Deep tree not frozen"); }
+
+        // Read from any number of threads without locking
+        JsonObject shared = JsonObject.create(CASE_2).freeze();
+        String expected = shared.toString();
+        ExecutorService pool = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<String>> results = new ArrayList<>();
+            for (int i = 0; i < 16; ++i) {
+                results.add(pool.submit(shared::toString));
+            }
+            for (Future<String> result : results) {
+                if (!result.get().equals(expected)) { throw new Exception(result.get()); }
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    private static void testEquality() throws Exception {
+        String[] cases = {CASE_1, CASE_2, CASE_3, CASE_4, CASE_5, CASE_6};
+        for (String str : cases) {
+            JsonObject tree = JsonObject.create(str);
+            JsonObject[] same = {JsonObject.create(str), JsonObject.createCompact(str), JsonObject.createLazy(str),
+                    JsonObject.create(str.getBytes(StandardCharsets.UTF_8)), tree.freeze(), tree.deepCopy(), tree.freeze().deepCopy()};
+            for (JsonObject other : same) {
+                if (!tree.equals(other) || !other.equals(tree) || tree.hashCode() != other.hashCode()) {
+                    throw new Exception(String.format("\n%s\n%s", other, tree));
+                }
+            }
+        }
+
+        // Numbers by value, objects in any key order, arrays in order
+        String[][] equal = {{"1", "1.0"}, {"1", "10e-1"}, {"100", "1E+2"}, {"-0", "0"}, {"0.5", "5e-1"},
+                {"1.00000000000000000000", "1"}, {"1e-400", "10e-401"}, {"4.9e-324", "49e-325"}, {"123456789012345678901234567890", "1.2345678901234567890123456789e29"},
+                {"{\"a\": 1, \"b\": [2, {}]}", "{\"b\": [2.0, {}], \"a\": 1}"}};
+        String[][] unequal = {{"1", "1.1"}, {"9007199254740993", "9007199254740992"}, {"1e400", "1e401"},
+                {"1e-400", "0"}, {"1e-400", "2e-400"}, {"1e-320", "1.0000001e-320"}, {"1", "\"1\""},
+                {"[1, 2]", "[2, 1]"}, {"{\"a\": 1}", "{\"a\": 1, \"b\": 1}"}, {"{\"a\": 1}", "{\"b\": 1}"}, {"[]", "{}"}, {"null", "false"}};
+        for (String[] pair : equal) {
+            JsonObject a = JsonObject.create(pair[0]);
+            JsonObject b = JsonObject.create(pair[1]);
+            if (!a.equals(b) || a.hashCode() != b.hashCode() || !a.freeze().equals(b.freeze())) { throw new Exception(Arrays.toString(pair)); }
+        }
+        for (String[] pair : unequal) {
+            if (JsonObject.create(pair[0]).equals(JsonObject.create(pair[1])) || JsonObject.create(pair[0]).freeze().equals(JsonObject.create(pair[1]).freeze())) {
+                throw new Exception(Arrays.toString(pair));
+            }
+        }
+        if (!JsonObject.create("0.1").equals(new JsonObject(0.1)) || !new JsonObject(0.5f).equals(JsonObject.create("0.5"))) {
+            throw new Exception("Number constructors");
+        }
+
+        // Copies share no container with the source
+        JsonObject tree = JsonObject.create("{\"a\": [1, {\"b\": [2]}], \"c\": {}}");
+        JsonObject copy = tree.deepCopy();
+        copy.get("a").get(1).get("b").add(JsonObject.NULL);
+        copy.get("c").put("d", JsonObject.TRUE);
+        if (!tree.toString().equals("{\"a\":[1,{\"b\":[2]}],\"c\":{}}") || tree.equals(copy)) { throw new Exception(tree.toString()); }
+        JsonObject thawed = tree.freeze().deepCopy();
+        thawed.put("e", JsonObject.NULL);
+        if (thawed.isFrozen() || thawed.getObject().size() != 3) { throw new Exception(thawed.toString()); }
 
-        start = Instant.now();
-        for (int i = 0; i < 1000000; ++i) {
-            test1 = JsonObject.create(CASE_1);
-            test2 = JsonObject.create(CASE_2);
-            test3 = JsonObject.create(CASE_3);
-            test4 = JsonObject.create(CASE_4);
-            test5 = JsonObject.create(CASE_5);
-            //test6 = JsonObject.create(CASE_6);
+        // Deeper than recursion would go
+        JsonObject deep = new JsonObject(new ArrayList<>());
+        JsonObject node = deep;
+        for (int i = 0; i < 100000; ++i) {
+            JsonObject child = new JsonObject(new ArrayList<>());
+            node.add(child);
+            node = child;
         }
-        end = Instant.now();
-        System.out.println("Json Helper - Deserialize Performance: " + (end.toEpochMilli() - start.toEpochMilli()) + " ms");
+        JsonObject deepCopy = deep.deepCopy();
+        if (!deepCopy.equals(deep)) { throw new Exception("Deep copy mismatch"); }
+        if (deep.hashCode() != deepCopy.hashCode() || deep.freeze().hashCode() != deep.hashCode()) { throw new Exception("Deep hash mismatch"); }
+        node.add(JsonObject.NULL);
+        if (deepCopy.equals(deep)) { throw new Exception("Deep copy shares a container"); }
     }
 
     private static void testJackson() throws Exception {
@@ -131,39 +969,15 @@ public class Main {
         if (!str3.equals(FORMATTED_3)) { throw new Exception(String.format("\n%s\n%s", str3, FORMATTED_3)); }
         if (!str4.equals(FORMATTED_4)) { throw new Exception(String.format("\n%s\n%s", str4, FORMATTED_4)); }
         if (!str5.equals(FORMATTED_5)) { throw new Exception(String.format("\n%s\n%s", str5, FORMATTED_5)); }
-
-        Instant start = Instant.now();
-        for (int i = 0; i < 1000000; ++i) {
-            str1 = mapper.writeValueAsString(map1);
-            str2 = mapper.writeValueAsString(map2);
-            str3 = mapper.writeValueAsString(map3);
-            str4 = mapper.writeValueAsString(map4);
-            str5 = mapper.writeValueAsString(map5);
-            str6 = mapper.writeValueAsString(map6);
-        }
-        Instant end = Instant.now();
-        System.out.println("Jackson - Serialize Performance: " + (end.toEpochMilli() - start.toEpochMilli()) + " ms");
-
-        start = Instant.now();
-        for (int i = 0; i < 1000000; ++i) {
-            map1 = mapper.readValue(CASE_1, Map.class);
-            map2 = mapper.readValue(CASE_2, Map.class);
-            map3 = mapper.readValue(CASE_3, Map.class);
-            map4 = mapper.readValue(CASE_4, Map.class);
-            map5 = mapper.readValue(CASE_5, Map.class);
-            map6 = mapper.readValue(CASE_6, Map.class);
-        }
-        end = Instant.now();
-        System.out.println("Jackson - Deserialize Performance: " + (end.toEpochMilli() - start.toEpochMilli()) + " ms");
     }
 
     private static void testGson() throws Exception {
-        JsonElement element1 = JsonParser.parseString(CASE_1);
-        JsonElement element2 = JsonParser.parseString(CASE_2);
-        JsonElement element3 = JsonParser.parseString(CASE_3);
-        JsonElement element4 = JsonParser.parseString(CASE_4);
-        JsonElement element5 = JsonParser.parseString(CASE_5);
-        JsonElement element6 = JsonParser.parseString(CASE_6);
+        JsonElement element1 = com.google.gson.JsonParser.parseString(CASE_1);
+        JsonElement element2 = com.google.gson.JsonParser.parseString(CASE_2);
+        JsonElement element3 = com.google.gson.JsonParser.parseString(CASE_3);
+        JsonElement element4 = com.google.gson.JsonParser.parseString(CASE_4);
+        JsonElement element5 = com.google.gson.JsonParser.parseString(CASE_5);
+        JsonElement element6 = com.google.gson.JsonParser.parseString(CASE_6);
 
         String str1 = element1.toString();
         String str2 = element2.toString();
@@ -177,29 +991,5 @@ public class Main {
         if (!str3.equals(FORMATTED_3)) { throw new Exception(String.format("\n%s\n%s", str3, FORMATTED_3)); }
         if (!str4.equals(FORMATTED_4)) { throw new Exception(String.format("\n%s\n%s", str4, FORMATTED_4)); }
         if (!str5.equals(FORMATTED_5)) { throw new Exception(String.format("\n%s\n%s", str5, FORMATTED_5)); }
-
-        Instant start = Instant.now();
-        for (int i = 0; i < 1000000; ++i) {
-            str1 = element1.toString();
-            str2 = element2.toString();
-            str3 = element3.toString();
-            str4 = element4.toString();
-            str5 = element5.toString();
-            str6 = element6.toString();
-        }
-        Instant end = Instant.now();
-        System.out.println("Gson - Serialize Performance: " + (end.toEpochMilli() - start.toEpochMilli()) + " ms");
-
-        start = Instant.now();
-        for (int i = 0; i < 1000000; ++i) {
-            element1 = JsonParser.parseString(CASE_1);
-            element2 = JsonParser.parseString(CASE_2);
-            element3 = JsonParser.parseString(CASE_3);
-            element4 = JsonParser.parseString(CASE_4);
-            element5 = JsonParser.parseString(CASE_5);
-            element6 = JsonParser.parseString(CASE_6);
-        }
-        end = Instant.now();
-        System.out.println("Gson - Deserialize Performance: " + (end.toEpochMilli() - start.toEpochMilli()) + " ms");
     }
 }
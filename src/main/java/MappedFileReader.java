@@ -0,0 +1,76 @@
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.CharBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+// Decodes a UTF-8 file mapped into memory one region at a time, nothing but the caller's buffer is on the heap.
+// A mapping is limited to 2 GB, so larger files are walked region by region. A region that ends inside
+// a multi-byte sequence leaves it undecoded and the next region starts on it.
+class MappedFileReader extends Reader {
+    private static final long REGION_SIZE = 1L << 30;
+
+    private final FileChannel channel;
+    private final long size;
+    private final long regionSize;
+    private long regionStart;
+    private MappedByteBuffer region;
+    private final CharsetDecoder decoder = StandardCharsets.UTF_8.newDecoder()
+            .onMalformedInput(CodingErrorAction.REPLACE)
+            .onUnmappableCharacter(CodingErrorAction.REPLACE);
+    private boolean decoded;
+    private boolean flushed;
+
+    public MappedFileReader(Path path) throws IOException {
+        this(path, REGION_SIZE);
+    }
+
+    MappedFileReader(Path path, long regionSize) throws IOException {
+        this.channel = FileChannel.open(path, StandardOpenOption.READ);
+        this.size = channel.size();
+        // Room for at least one whole sequence, or decoding could not make progress
+        this.regionSize = Math.max(regionSize, 4);
+        map(0);
+    }
+
+    private void map(long start) throws IOException {
+        regionStart = start;
+        region = channel.map(FileChannel.MapMode.READ_ONLY, start, Math.min(regionSize, size - start));
+    }
+
+    @Override
+    public int read(char[] cbuf, int off, int len) throws IOException {
+        if (flushed) {
+            return -1;
+        }
+        CharBuffer output = CharBuffer.wrap(cbuf, off, len);
+        while (!decoded) {
+            boolean last = regionStart + region.limit() == size;
+            CoderResult result = decoder.decode(region, output, last);
+            if (result.isOverflow()) {
+                break;
+            } else if (last) {
+                decoded = true;
+            } else {
+                map(regionStart + region.position());
+            }
+        }
+        if (decoded) {
+            flushed = decoder.flush(output).isUnderflow();
+        }
+        int count = output.position() - off;
+        return count == 0 && flushed ? -1 : count;
+    }
+
+    // The mapping itself is released once the buffer is garbage collected
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}